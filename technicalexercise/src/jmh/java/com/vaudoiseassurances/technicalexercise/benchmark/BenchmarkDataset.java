@@ -0,0 +1,100 @@
+package com.vaudoiseassurances.technicalexercise.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic DataSeeder-like dataset written with batched JDBC, so large sizes load in seconds.
+ */
+final class BenchmarkDataset {
+
+    static final int CONTRACTS_PER_CLIENT = 10;
+    private static final int BATCH_SIZE = 10_000;
+    private static final long SEED = 42L;
+
+    private BenchmarkDataset() {
+    }
+
+    static int clientCount(int contracts) {
+        return Math.max(1, contracts / CONTRACTS_PER_CLIENT);
+    }
+
+    static void load(JdbcTemplate jdbcTemplate, int contracts) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        LocalDate today = LocalDate.now();
+        int clients = clientCount(contracts);
+
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= clients; id++) {
+            boolean company = id % 5 == 0;
+            rows.add(new Object[] {
+                id,
+                company ? "COMPANY" : "PERSON",
+                (company ? "Company " : "Person ") + id,
+                "client" + id + "@benchmark.ch",
+                "+4179%07d".formatted(id % 10_000_000),
+                company ? null : Date.valueOf(today.minusYears(18 + random.nextInt(60))),
+                company ? companyIdentifier(id) : null,
+                (company ? "company " : "person ") + id,
+                "client" + id + "@benchmark.ch"
+            });
+            if (rows.size() == BATCH_SIZE) {
+                insertClients(jdbcTemplate, rows);
+            }
+        }
+        insertClients(jdbcTemplate, rows);
+
+        for (long id = 1; id <= contracts; id++) {
+            long clientId = 1 + (id - 1) % clients;
+            LocalDate startDate = today.minusDays(random.nextInt(1095));
+            boolean active = random.nextInt(100) < 70;
+            LocalDate endDate = active ? null : startDate.plusDays(1 + random.nextInt(365));
+            if (endDate != null && endDate.isAfter(today)) {
+                endDate = today;
+            }
+            BigDecimal costAmount = BigDecimal.valueOf(clientId % 5 == 0
+                ? 5000 + random.nextInt(25000)
+                : 500 + random.nextInt(2500));
+            rows.add(new Object[] {
+                id,
+                clientId,
+                Date.valueOf(startDate),
+                endDate != null ? Date.valueOf(endDate) : null,
+                costAmount,
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(random.nextInt(525_600)))
+            });
+            if (rows.size() == BATCH_SIZE) {
+                insertContracts(jdbcTemplate, rows);
+            }
+        }
+        insertContracts(jdbcTemplate, rows);
+    }
+
+    private static void insertClients(JdbcTemplate jdbcTemplate, List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO clients " +
+            "(id, client_type, name, email, phone, birthdate, company_identifier, name_lower, email_lower, deleted) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE)", rows);
+        rows.clear();
+    }
+
+    private static void insertContracts(JdbcTemplate jdbcTemplate, List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO contracts " +
+            "(id, client_id, start_date, end_date, cost_amount, update_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+
+    private static String companyIdentifier(long id) {
+        long letters = id / 900;
+        return "" + (char) ('a' + letters / 676 % 26) + (char) ('a' + letters / 26 % 26) + (char) ('a' + letters % 26)
+            + "-" + (100 + id % 900);
+    }
+}
@@ -0,0 +1,114 @@
+package com.vaudoiseassurances.technicalexercise.benchmark;
+
+import com.vaudoiseassurances.technicalexercise.TechnicalexerciseApplication;
+import com.vaudoiseassurances.technicalexercise.config.IdSequenceInitializer;
+import com.vaudoiseassurances.technicalexercise.dto.ClientContractDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientContractResponseDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ContractCostSumDTO;
+import com.vaudoiseassurances.technicalexercise.model.ClientContract;
+import com.vaudoiseassurances.technicalexercise.services.ClientContractService;
+import com.vaudoiseassurances.technicalexercise.services.ClientCostAggregateService;
+import com.vaudoiseassurances.technicalexercise.services.ClientService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service and repository hot paths against an H2 dataset of {@code contracts} rows.
+ * Set {@code -Dbenchmark.db.url=jdbc:h2:file:...} to run the largest sizes off-heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ContractServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int contracts;
+
+    private ConfigurableApplicationContext context;
+    private ClientContractService contractService;
+    private ClientService clientService;
+    private int clients;
+    private final AtomicLong nextDeletedClientId = new AtomicLong(1);
+    private final LocalDateTime updatedSince = LocalDateTime.now().minusDays(30);
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(TechnicalexerciseApplication.class).run(
+            "--spring.profiles.active=benchmark",
+            "--spring.main.web-application-type=none",
+            "--spring.datasource.url=" + System.getProperty("benchmark.db.url",
+                "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1"),
+            "--spring.jpa.hibernate.ddl-auto=create",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.format_sql=false",
+            "--logging.level.root=WARN");
+
+        BenchmarkDataset.load(context.getBean(JdbcTemplate.class), contracts);
+        context.getBean(IdSequenceInitializer.class).realignSequences();
+        context.getBean(ClientCostAggregateService.class).rebuildAll();
+
+        contractService = context.getBean(ClientContractService.class);
+        clientService = context.getBean(ClientService.class);
+        clients = BenchmarkDataset.clientCount(contracts);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ClientContractResponseDTO> activeContracts() {
+        return contractService.getActiveContractsByClientId(randomClientId(), null, null);
+    }
+
+    @Benchmark
+    public List<ClientContractResponseDTO> activeContractsAsOf() {
+        return contractService.getActiveContractsByClientId(randomClientId(), null, LocalDate.now().minusYears(1));
+    }
+
+    @Benchmark
+    public List<ClientContractResponseDTO> activeContractsUpdatedSince() {
+        return contractService.getActiveContractsByClientId(randomClientId(), updatedSince, null);
+    }
+
+    @Benchmark
+    public ContractCostSumDTO totalActiveCost() {
+        return contractService.getTotalActiveCostAmountForClient(randomClientId());
+    }
+
+    @Benchmark
+    public ContractCostSumDTO totalActiveCostAsOf() {
+        return contractService.getTotalActiveCostAmountAsOf(randomClientId(), LocalDate.now().minusYears(1));
+    }
+
+    @Benchmark
+    public ClientContract createContract() {
+        return contractService.createContract(
+            new ClientContractDTO(randomClientId(), null, null, BigDecimal.valueOf(1000)));
+    }
+
+    // Walks through the clients once; later invocations re-delete already closed clients
+    @Benchmark
+    public void deleteClient() {
+        long clientId = 1 + (nextDeletedClientId.getAndIncrement() - 1) % clients;
+        clientService.deleteClient(clientId);
+    }
+
+    private Long randomClientId() {
+        return ThreadLocalRandom.current().nextLong(1, clients + 1L);
+    }
+}
@@ -0,0 +1,76 @@
+package com.vaudoiseassurances.technicalexercise.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.vaudoiseassurances.technicalexercise.dto.ClientContractResponseDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientResponseDTO;
+import com.vaudoiseassurances.technicalexercise.enums.ClientType;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Serialization cost of the response DTOs in each negotiable format, with the same date settings as the
+ * application. The payload size of one list per format is printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    @Param({"10", "1000"})
+    public int size;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private List<ClientContractResponseDTO> contracts;
+    private List<ClientResponseDTO> clients;
+
+    @Setup
+    public void prepare() throws JsonProcessingException {
+        MapperBuilder<?, ?> builder = switch (format) {
+            case "cbor" -> CBORMapper.builder();
+            case "smile" -> SmileMapper.builder();
+            default -> JsonMapper.builder();
+        };
+        objectMapper = builder
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        LocalDate today = LocalDate.now();
+        contracts = LongStream.rangeClosed(1, size)
+            .mapToObj(id -> new ClientContractResponseDTO(id, 1L, today.minusDays(id), null,
+                BigDecimal.valueOf(150_000 + id, 2)))
+            .toList();
+        clients = LongStream.rangeClosed(1, size)
+            .mapToObj(id -> new ClientResponseDTO(id, ClientType.PERSON, "Person " + id,
+                "client" + id + "@benchmark.ch", "+41790000000", today.minusYears(30), null, false))
+            .toList();
+        System.out.printf("%n%s payload: %d contracts = %d bytes, %d clients = %d bytes%n", format,
+            size, contractList().length, size, clientList().length);
+    }
+
+    @Benchmark
+    public byte[] contractList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(contracts);
+    }
+
+    @Benchmark
+    public byte[] clientList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(clients);
+    }
+}
@@ -0,0 +1,114 @@
+package com.vaudoiseassurances.technicalexercise.benchmark;
+
+import com.vaudoiseassurances.technicalexercise.TechnicalexerciseApplication;
+import com.vaudoiseassurances.technicalexercise.config.IdSequenceInitializer;
+import com.vaudoiseassurances.technicalexercise.services.ClientCostAggregateService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP load test of the read endpoints, blocking MVC ({@code /api}) against R2DBC ({@code /api/reactive}).
+ * Every JMH thread is a concurrent client; run with more threads than Tomcat workers
+ * ({@code -Dbenchmark.tomcat.threads}, default 50) to see how each stack behaves under fan-in:
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.include=ReadApiLoad -Djmh.contracts=100000}
+ * and append {@code -t 200} to the JMH arguments for higher concurrency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReadApiLoadBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int contracts;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private int clients;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(TechnicalexerciseApplication.class).run(
+            "--spring.profiles.active=benchmark",
+            "--server.port=0",
+            "--server.tomcat.threads.max=" + System.getProperty("benchmark.tomcat.threads", "50"),
+            "--spring.datasource.url=" + System.getProperty("benchmark.db.url",
+                "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1"),
+            "--spring.jpa.hibernate.ddl-auto=create",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.format_sql=false",
+            "--logging.level.root=WARN");
+
+        BenchmarkDataset.load(context.getBean(JdbcTemplate.class), contracts);
+        context.getBean(IdSequenceInitializer.class).realignSequences();
+        context.getBean(ClientCostAggregateService.class).rebuildAll();
+
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        clients = BenchmarkDataset.clientCount(contracts);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        httpClient.close();
+        context.close();
+    }
+
+    @Benchmark
+    public String mvcClientById() throws Exception {
+        return get("/api/clients/" + randomClientId());
+    }
+
+    @Benchmark
+    public String reactiveClientById() throws Exception {
+        return get("/api/reactive/clients/" + randomClientId());
+    }
+
+    @Benchmark
+    public String mvcActiveContracts() throws Exception {
+        return get("/api/contracts/client/" + randomClientId());
+    }
+
+    @Benchmark
+    public String reactiveActiveContracts() throws Exception {
+        return get("/api/reactive/contracts/client/" + randomClientId());
+    }
+
+    @Benchmark
+    public String mvcTotalCost() throws Exception {
+        return get("/api/contracts/client/" + randomClientId() + "/total-cost");
+    }
+
+    @Benchmark
+    public String reactiveTotalCost() throws Exception {
+        return get("/api/reactive/contracts/client/" + randomClientId() + "/total-cost");
+    }
+
+    private String get(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(
+            HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private long randomClientId() {
+        return ThreadLocalRandom.current().nextLong(1, clients + 1L);
+    }
+}
@@ -0,0 +1,30 @@
+package com.vaudoiseassurances.technicalexercise.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) bodies for bulk consumers,
+ * negotiated through {@code Accept}. The converters replace Spring's defaults so they share the
+ * {@code spring.jackson.*} settings and modules of the JSON mapper; JSON stays the default for any other
+ * {@code Accept}. Both write straight to the response stream and encode {@code BigDecimal} natively.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    // The builder is a prototype bean, so each converter gets its own copy of Boot's Jackson configuration
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
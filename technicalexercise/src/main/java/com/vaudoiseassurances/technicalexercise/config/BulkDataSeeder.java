@@ -0,0 +1,228 @@
+package com.vaudoiseassurances.technicalexercise.config;
+
+import com.vaudoiseassurances.technicalexercise.services.ClientCostAggregateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates load-test datasets of millions of rows: clients are split into fixed id ranges that are
+ * generated in parallel (one seeded Faker per range, so output is deterministic) and written with
+ * batched JDBC, one transaction per range. At most two ranges per thread are held in memory.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BulkDataSeeder {
+
+    private static final String CLIENT_INSERT = "INSERT INTO clients " +
+        "(id, client_type, name, email, phone, birthdate, company_identifier, name_lower, email_lower, deleted) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE)";
+    private static final String CONTRACT_INSERT = "INSERT INTO contracts " +
+        "(id, client_id, start_date, end_date, cost_amount, update_date) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final int JDBC_BATCH_SIZE = 1000;
+    private static final long PROGRESS_LOG_INTERVAL_NANOS = 5_000_000_000L;
+    // companyIdentifier(id) has 26^3 * 900 distinct values (aaa-100 to zzz-999) before it wraps around
+    private static final long MAX_CLIENTS = 26L * 26 * 26 * 900;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IdSequenceInitializer idSequenceInitializer;
+    private final ClientCostAggregateService costAggregateService;
+
+    @Value("${app.seed.clients:25}")
+    private long clientCount;
+
+    @Value("${app.seed.company-ratio:0.4}")
+    private double companyRatio;
+
+    @Value("${app.seed.min-contracts-per-client:1}")
+    private int minContractsPerClient;
+
+    @Value("${app.seed.max-contracts-per-client:3}")
+    private int maxContractsPerClient;
+
+    @Value("${app.seed.active-ratio:0.7}")
+    private double activeRatio;
+
+    @Value("${app.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${app.seed.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int threads;
+
+    @Value("${app.seed.chunk-size:10000}")
+    private int chunkSize;
+
+    private final AtomicLong seededClients = new AtomicLong();
+    private final AtomicLong seededContracts = new AtomicLong();
+    private final AtomicLong lastProgressLog = new AtomicLong();
+
+    public void seed() {
+        if (clientCount > MAX_CLIENTS) {
+            throw new IllegalStateException("app.seed.clients must be at most " + MAX_CLIENTS
+                + " to keep company identifiers unique, found: " + clientCount);
+        }
+        long chunks = (clientCount + chunkSize - 1) / chunkSize;
+        log.info("Bulk seeding {} clients with {}-{} contracts each ({} chunks, {} threads, seed {})",
+            clientCount, minContractsPerClient, maxContractsPerClient, chunks, threads, randomSeed);
+        long started = System.nanoTime();
+        lastProgressLog.set(started);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Semaphore inFlight = new Semaphore(threads * 2);
+        List<Future<?>> pending = new ArrayList<>();
+        try {
+            for (long chunk = 0; chunk < chunks; chunk++) {
+                long firstId = chunk * chunkSize + 1;
+                long lastId = Math.min(firstId + chunkSize - 1, clientCount);
+                long chunkIndex = chunk;
+                inFlight.acquire();
+                pending.add(executor.submit(() -> {
+                    try {
+                        seedChunk(chunkIndex, firstId, lastId, started);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+                pending.removeIf(Future::isDone);
+            }
+            for (Future<?> future : pending) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bulk seeding interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Bulk seeding failed", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        idSequenceInitializer.realignSequences();
+        costAggregateService.rebuildAll();
+        logProgress(started, true);
+    }
+
+    private void seedChunk(long chunkIndex, long firstId, long lastId, long started) {
+        Faker faker = new Faker(Locale.of("fr", "CH"), new Random(randomSeed + chunkIndex));
+        LocalDate today = LocalDate.now();
+        List<Object[]> clients = new ArrayList<>((int) (lastId - firstId + 1));
+        List<Object[]> contracts = new ArrayList<>(clients.size() * maxContractsPerClient);
+
+        for (long id = firstId; id <= lastId; id++) {
+            boolean company = faker.random().nextDouble() < companyRatio;
+            clients.add(company ? companyRow(faker, id) : personRow(faker, id, today));
+
+            int contractCount = faker.random().nextInt(minContractsPerClient, maxContractsPerClient);
+            for (int i = 0; i < contractCount; i++) {
+                long contractId = (id - 1) * maxContractsPerClient + i + 1;
+                boolean active = i == 0 || faker.random().nextDouble() < activeRatio;
+                contracts.add(contractRow(faker, contractId, id, company, active, today));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(CLIENT_INSERT, clients, JDBC_BATCH_SIZE, this::setParameters);
+            jdbcTemplate.batchUpdate(CONTRACT_INSERT, contracts, JDBC_BATCH_SIZE, this::setParameters);
+        });
+
+        seededClients.addAndGet(clients.size());
+        seededContracts.addAndGet(contracts.size());
+        logProgress(started, false);
+    }
+
+    private Object[] personRow(Faker faker, long id, LocalDate today) {
+        String name = faker.name().fullName();
+        String email = email(faker, id);
+        return new Object[] {
+            id, "PERSON", name, email, phone(faker),
+            Date.valueOf(today.minusYears(faker.random().nextInt(18, 80)).minusDays(faker.random().nextInt(0, 364))),
+            null, name.toLowerCase(Locale.ROOT), email.toLowerCase(Locale.ROOT)
+        };
+    }
+
+    private Object[] companyRow(Faker faker, long id) {
+        String name = faker.company().name();
+        String email = email(faker, id);
+        return new Object[] {
+            id, "COMPANY", name, email, phone(faker), null, companyIdentifier(id),
+            name.toLowerCase(Locale.ROOT), email.toLowerCase(Locale.ROOT)
+        };
+    }
+
+    private Object[] contractRow(Faker faker, long id, long clientId, boolean company, boolean active, LocalDate today) {
+        LocalDate startDate = today.minusDays(faker.random().nextInt(0, 1095));
+        LocalDate endDate = null;
+        if (!active) {
+            endDate = startDate.plusYears(faker.random().nextInt(1, 3));
+            if (endDate.isAfter(today)) {
+                endDate = today.minusDays(faker.random().nextInt(1, 365));
+            }
+        }
+        BigDecimal costAmount = BigDecimal.valueOf(company
+            ? faker.random().nextInt(5000, 30000)
+            : faker.random().nextInt(500, 3000));
+        return new Object[] {
+            id, clientId, Date.valueOf(startDate), endDate != null ? Date.valueOf(endDate) : null,
+            costAmount, Timestamp.valueOf(LocalDateTime.now())
+        };
+    }
+
+    // Natural keys are derived from the id: emails are unique at any size, company identifiers up to MAX_CLIENTS
+    private String email(Faker faker, long id) {
+        return faker.internet().username() + "." + id + "@" + faker.internet().domainName();
+    }
+
+    private String companyIdentifier(long id) {
+        long letters = id / 900;
+        return "" + (char) ('a' + letters / 676 % 26) + (char) ('a' + letters / 26 % 26) + (char) ('a' + letters % 26)
+            + "-" + (100 + id % 900);
+    }
+
+    private String phone(Faker faker) {
+        return "+4179%07d".formatted(faker.random().nextInt(0, 9999999));
+    }
+
+    private void setParameters(PreparedStatement statement, Object[] row) throws SQLException {
+        for (int i = 0; i < row.length; i++) {
+            statement.setObject(i + 1, row[i]);
+        }
+    }
+
+    private void logProgress(long started, boolean finished) {
+        long now = System.nanoTime();
+        long last = lastProgressLog.get();
+        if (!finished && (now - last < PROGRESS_LOG_INTERVAL_NANOS || !lastProgressLog.compareAndSet(last, now))) {
+            return;
+        }
+        double seconds = Math.max((now - started) / 1_000_000_000.0, 0.001);
+        log.info("{} {}/{} clients, {} contracts in {}s ({} contracts/s)",
+            finished ? "Bulk seeding finished:" : "Bulk seeding progress:",
+            seededClients.get(), clientCount, seededContracts.get(),
+            Math.round(seconds), Math.round(seededContracts.get() / seconds));
+    }
+}
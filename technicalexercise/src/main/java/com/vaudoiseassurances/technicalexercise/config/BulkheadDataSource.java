@@ -0,0 +1,127 @@
+package com.vaudoiseassurances.technicalexercise.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lets at most {@code permits} connections be checked out at once; further callers queue on a fair
+ * semaphore until a connection is closed. Sized to the pool, this keeps thousands of virtual threads
+ * from piling up inside the pool's own acquisition logic.
+ */
+public class BulkheadDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final Duration acquireTimeout;
+
+    private volatile Timer waitTimer;
+    private volatile Counter timeouts;
+
+    public BulkheadDataSource(DataSource targetDataSource, int maxPermits, Duration acquireTimeout) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxPermits, true);
+        this.maxPermits = maxPermits;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return guarded(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return guarded(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        waitTimer = Timer.builder("datasource.bulkhead.wait")
+            .description("Time spent waiting for a connection permit")
+            .publishPercentiles(0.5, 0.99)
+            .register(registry);
+        timeouts = Counter.builder("datasource.bulkhead.timeouts")
+            .description("Connection requests rejected after waiting for a permit")
+            .register(registry);
+        Gauge.builder("datasource.bulkhead.permits.available", permits, Semaphore::availablePermits)
+            .register(registry);
+        Gauge.builder("datasource.bulkhead.waiting", permits, Semaphore::getQueueLength)
+            .register(registry);
+        Gauge.builder("datasource.bulkhead.permits.max", () -> maxPermits)
+            .register(registry);
+    }
+
+    private void acquire() throws SQLException {
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection permit", ex);
+        } finally {
+            if (waitTimer != null) {
+                waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (!acquired) {
+            if (timeouts != null) {
+                timeouts.increment();
+            }
+            throw new SQLTransientConnectionException(
+                "No connection permit available after " + acquireTimeout.toMillis() + "ms");
+        }
+    }
+
+    private Connection guarded(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    } finally {
+                        permits.release();
+                    }
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
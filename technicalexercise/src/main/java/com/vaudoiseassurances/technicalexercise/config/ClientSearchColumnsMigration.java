@@ -0,0 +1,56 @@
+package com.vaudoiseassurances.technicalexercise.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the name_lower/email_lower search columns to client tables created before they existed
+ * (see db/migration/clients-search-columns.sql). Runs before the schema update, which would add
+ * them NOT NULL in one step and fail on a table that already has rows.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClientSearchColumnsMigration {
+
+    private static final String SCRIPT = "db/migration/clients-search-columns.sql";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // The schema update runs while the entity manager factory is built
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor clientSearchColumnsMigrationDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor(ClientSearchColumnsMigration.class);
+    }
+
+    @PostConstruct
+    public void migrate() {
+        Integer tables = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = 'CLIENTS'",
+            Integer.class);
+        Integer migratedColumns = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = 'CLIENTS' " +
+            "AND COLUMN_NAME IN ('NAME_LOWER', 'EMAIL_LOWER') AND IS_NULLABLE = 'NO'",
+            Integer.class);
+        // A new database gets the columns from the schema update
+        if (tables == null || tables == 0 || migratedColumns != null && migratedColumns == 2) {
+            return;
+        }
+
+        log.info("Adding the lower-cased search columns to the existing clients table");
+        try {
+            new ResourceDatabasePopulator(new ClassPathResource(SCRIPT)).execute(jdbcTemplate.getDataSource());
+        } catch (ScriptException e) {
+            // Typically emails that differ only in case, which ux_clients_email_lower rejects
+            throw new IllegalStateException("Could not migrate the clients table with " + SCRIPT, e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.vaudoiseassurances.technicalexercise.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+// Virtual threads remove the Tomcat thread cap, so the connection pool becomes the real concurrency limit
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.bulkhead.enabled", havingValue = "true")
+@Slf4j
+public class ConnectionBulkheadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionBulkheadPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                Duration acquireTimeout = environment.getProperty(
+                    "app.datasource.bulkhead.acquire-timeout", Duration.class,
+                    Duration.ofMillis(hikari.getConnectionTimeout()));
+                log.info("Connection bulkhead enabled: {} permits, {}ms acquire timeout",
+                    hikari.getMaximumPoolSize(), acquireTimeout.toMillis());
+                return new BulkheadDataSource(hikari, hikari.getMaximumPoolSize(), acquireTimeout);
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.vaudoiseassurances.technicalexercise.config;
+
+import com.vaudoiseassurances.technicalexercise.dto.CostAggregateMismatchDTO;
+import com.vaudoiseassurances.technicalexercise.services.ClientCostAggregateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Maintenance commands for the per-client cost aggregates, e.g.
+ * {@code java -jar app.jar --cost-aggregates=verify} or {@code --cost-aggregates=rebuild}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CostAggregateCommandRunner implements ApplicationRunner {
+
+    private static final String OPTION = "cost-aggregates";
+    private static final int MAX_LOGGED_MISMATCHES = 20;
+
+    private final ClientCostAggregateService aggregateService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        for (String command : args.getOptionValues(OPTION)) {
+            switch (command) {
+                case "rebuild" -> aggregateService.rebuildAll();
+                case "verify" -> logMismatches(aggregateService.verify());
+                default -> log.warn("Unknown --{} command: {} (expected rebuild or verify)", OPTION, command);
+            }
+        }
+    }
+
+    private void logMismatches(List<CostAggregateMismatchDTO> mismatches) {
+        mismatches.stream()
+            .limit(MAX_LOGGED_MISMATCHES)
+            .forEach(m -> log.warn("Client {}: stored {} ({} contracts) but live {} ({} contracts)",
+                m.clientId(), m.storedTotal(), m.storedCount(), m.liveTotal(), m.liveCount()));
+    }
+}
@@ -8,6 +8,7 @@ import com.vaudoiseassurances.technicalexercise.repository.ClientContractReposit
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
@@ -16,8 +17,10 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 @Component
@@ -28,20 +31,31 @@ public class DataSeeder implements CommandLineRunner {
 
     private final ClientRepository clientRepository;
     private final ClientContractRepository contractRepository;
+    private final BulkDataSeeder bulkDataSeeder;
     private final Faker faker = new Faker(Locale.of("fr", "CH"));
+    // Faker repeats values now and then; emails and company identifiers are unique indexes
+    private final Set<String> usedNaturalKeys = new HashSet<>();
 
     private static final int INDIVIDUAL_CLIENTS_COUNT = 15;
     private static final int COMPANY_CLIENTS_COUNT = 10;
     private static final int MIN_CONTRACTS_PER_CLIENT = 1;
     private static final int MAX_CONTRACTS_PER_CLIENT = 3;
 
+    // "demo" seeds the small fixed dataset, "bulk" the configurable load-test dataset (app.seed.*)
+    @Value("${app.seed.mode:demo}")
+    private String seedMode;
+
     @Override
     public void run(String... args) {
         if (clientRepository.count() == 0) {
             log.info("========================================");
             log.info("Starting data seeding...");
             log.info("========================================");
-            seedData();
+            if ("bulk".equalsIgnoreCase(seedMode)) {
+                bulkDataSeeder.seed();
+            } else {
+                seedData();
+            }
             log.info("========================================");
             log.info("Data seeding completed successfully!");
             log.info("========================================");
@@ -76,7 +90,7 @@ public class DataSeeder implements CommandLineRunner {
         Client client = new Client();
         client.setClientType(ClientType.PERSON);
         client.setName(faker.name().fullName());
-        client.setEmail(faker.internet().emailAddress());
+        client.setEmail(uniqueEmail());
         client.setPhone(generateSwissPhone());
         client.setBirthdate(generateBirthdate());
         client.setCompanyIdentifier(null);
@@ -95,7 +109,7 @@ public class DataSeeder implements CommandLineRunner {
         client.setClientType(ClientType.COMPANY);
         client.setName(faker.company().name() + " " + 
                        suffixes.get(faker.random().nextInt(suffixes.size())));
-        client.setEmail(faker.internet().emailAddress());
+        client.setEmail(uniqueEmail());
         client.setPhone(generateSwissPhone());
         client.setBirthdate(null);
         client.setCompanyIdentifier(generateCompanyIdentifier());
@@ -173,7 +187,23 @@ public class DataSeeder implements CommandLineRunner {
             .toLocalDate();
     }
 
+    private String uniqueEmail() {
+        String email;
+        do {
+            email = faker.internet().emailAddress();
+        } while (!usedNaturalKeys.add(email.toLowerCase(Locale.ROOT)));
+        return email;
+    }
+
     private String generateCompanyIdentifier() {
+        String identifier;
+        do {
+            identifier = randomCompanyIdentifier();
+        } while (!usedNaturalKeys.add(identifier));
+        return identifier;
+    }
+
+    private String randomCompanyIdentifier() {
         String letters = "";
         for (int i = 0; i < 3; i++) {
             letters += (char) ('a' + faker.random().nextInt(26));
@@ -184,16 +214,10 @@ public class DataSeeder implements CommandLineRunner {
 
     private void logSummary() {
         long totalClients = clientRepository.count();
-        long individualClients = clientRepository.findAll().stream()
-            .filter(c -> c.getClientType() == ClientType.PERSON)
-            .count();
-        long companyClients = clientRepository.findAll().stream()
-            .filter(c -> c.getClientType() == ClientType.COMPANY)
-            .count();
+        long individualClients = clientRepository.countByClientType(ClientType.PERSON);
+        long companyClients = clientRepository.countByClientType(ClientType.COMPANY);
         long totalContracts = contractRepository.count();
-        long activeContracts = contractRepository.findAll().stream()
-            .filter(c -> c.getEndDate() == null || c.getEndDate().isAfter(LocalDate.now()))
-            .count();
+        long activeContracts = contractRepository.countActive(LocalDate.now());
         
         log.info("========================================");
         log.info("SEEDING SUMMARY");
@@ -0,0 +1,64 @@
+package com.vaudoiseassurances.technicalexercise.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level and query caches on an in-process Caffeine JCache manager. Every region is
+ * declared here with explicit bounds, and Hibernate fails at startup on any region that is not.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String CLIENT_REGION = "clients";
+
+    // One manager per application context, so test and benchmark contexts in the same JVM never share regions
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.clients.max-size:50000}") long clientsMaxSize,
+            @Value("${app.cache.clients.ttl:30m}") Duration clientsTtl,
+            @Value("${app.cache.queries.max-size:10000}") long queriesMaxSize) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(URI.create("urn:hibernate-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(CLIENT_REGION, region(OptionalLong.of(clientsMaxSize), clientsTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+            region(OptionalLong.of(queriesMaxSize), clientsTtl));
+        // Must outlive every cached query result, otherwise stale results could be served after a write
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+            region(OptionalLong.empty(), null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // Hibernate caches immutable disassembled state, so entries are stored by reference instead of copied
+    private static CaffeineConfiguration<Object, Object> region(OptionalLong maximumSize, Duration ttl) {
+        return new CaffeineConfiguration<>()
+            .setStoreByValue(false)
+            .setMaximumSize(maximumSize)
+            .setExpireAfterWrite(ttl != null ? OptionalLong.of(ttl.toNanos()) : OptionalLong.empty());
+    }
+}
@@ -0,0 +1,57 @@
+package com.vaudoiseassurances.technicalexercise.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves the id sequences past the highest existing id, so databases created while ids were
+ * IDENTITY columns (or filled by bulk loads with explicit ids) keep working with pooled sequences.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequenceInitializer {
+
+    private static final Map<String, String> TABLES_BY_SEQUENCE = Map.of(
+        "CLIENTS_SEQ", "clients",
+        "CONTRACTS_SEQ", "contracts"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    // Schema creation/update must have run before sequences can be inspected
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void realignSequences() {
+        TABLES_BY_SEQUENCE.forEach(this::realignSequence);
+    }
+
+    private void realignSequence(String sequenceName, String tableName) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+            "SELECT BASE_VALUE, INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?",
+            sequenceName);
+        if (rows.isEmpty()) {
+            log.warn("Sequence {} not found, skipping realignment", sequenceName);
+            return;
+        }
+        long nextValue = ((Number) rows.getFirst().get("BASE_VALUE")).longValue();
+        long increment = ((Number) rows.getFirst().get("INCREMENT")).longValue();
+        Long maxId = jdbcTemplate.queryForObject(
+            "SELECT COALESCE(MAX(id), 0) FROM " + tableName, Long.class);
+
+        // The pooled optimizer hands out (value - increment, value], so the next block must start above maxId
+        if (maxId != null && maxId > 0 && nextValue - increment < maxId) {
+            long restartWith = maxId + increment;
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequenceName + " RESTART WITH " + restartWith);
+            log.info("Sequence {} restarted at {} (max id in {}: {})",
+                sequenceName, restartWith, tableName, maxId);
+        }
+    }
+}
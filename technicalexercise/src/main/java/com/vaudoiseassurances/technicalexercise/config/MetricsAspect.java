@@ -0,0 +1,95 @@
+package com.vaudoiseassurances.technicalexercise.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every public service method and every ClientContractRepository call and counts the rows
+ * returned by repository queries. Meters are registered once and reused; percentiles and histogram
+ * buckets are enabled per meter name with the {@code management.metrics.distribution.*} properties.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class MetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Counter> rowCounters = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.vaudoiseassurances.technicalexercise.services.ClientService.*(..))"
+        + " || execution(public * com.vaudoiseassurances.technicalexercise.services.ClientContractService.*(..))")
+    public Object timeServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        return time("app.service", "class", className, joinPoint, false);
+    }
+
+    @Around("target(com.vaudoiseassurances.technicalexercise.repository.ClientContractRepository)")
+    public Object timeRepositoryQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("app.repository", "repository", "ClientContractRepository", joinPoint, true);
+    }
+
+    private Object time(String name, String ownerTag, String owner, ProceedingJoinPoint joinPoint,
+                        boolean countRows) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            if (countRows) {
+                countRows(name, owner, method, result);
+            }
+            return result;
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(timer(name, ownerTag, owner, method, exception));
+        }
+    }
+
+    private Timer timer(String name, String ownerTag, String owner, String method, String exception) {
+        return timers.computeIfAbsent(new MeterKey(name, owner, method, exception), key -> Timer.builder(name)
+            .tag(ownerTag, owner)
+            .tag("method", method)
+            .tag("exception", exception)
+            .register(meterRegistry));
+    }
+
+    private void countRows(String name, String repository, String method, Object result) {
+        long rows = switch (result) {
+            case Collection<?> collection -> collection.size();
+            case Optional<?> optional -> optional.isPresent() ? 1 : 0;
+            case null -> 0;
+            default -> -1;
+        };
+        if (rows >= 0) {
+            rowCounter(name, repository, method).increment(rows);
+        }
+    }
+
+    private Counter rowCounter(String name, String repository, String method) {
+        return rowCounters.computeIfAbsent(new MeterKey(name, repository, method, null), key -> Counter
+            .builder(name + ".rows")
+            .description("Rows returned by repository queries")
+            .tag("repository", repository)
+            .tag("method", method)
+            .register(meterRegistry));
+    }
+
+    private record MeterKey(String name, String owner, String method, String exception) {}
+}
@@ -0,0 +1,46 @@
+package com.vaudoiseassurances.technicalexercise.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    // A jump in statements per request for the same route is the signature of an N+1 regression
+    @Bean
+    public SqlStatementsPerRequestFilter sqlStatementsPerRequestFilter(MeterRegistry meterRegistry) {
+        return new SqlStatementsPerRequestFilter(meterRegistry);
+    }
+
+    // Picked up by Boot's task executor builders, so the streaming executor below counts for its request
+    @Bean
+    public TaskDecorator sqlStatementCounterPropagation() {
+        return SqlStatementCounter::propagate;
+    }
+
+    // The reportExecutor bean makes Boot skip its application task executor, which would leave MVC
+    // streaming responses on an undecorated default; the builder keeps the virtual-thread setting
+    @Bean
+    public WebMvcConfigurer streamingResponseExecutor(SimpleAsyncTaskExecutorBuilder executorBuilder) {
+        SimpleAsyncTaskExecutor executor = executorBuilder.threadNamePrefix("mvc-async-").build();
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(executor);
+            }
+        };
+    }
+}
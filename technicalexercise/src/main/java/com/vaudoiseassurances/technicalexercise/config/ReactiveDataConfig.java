@@ -0,0 +1,52 @@
+package com.vaudoiseassurances.technicalexercise.config;
+
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * R2DBC access to the same H2 database for the /api/reactive read endpoints. The connection pool is
+ * not exposed as a bean, so Boot's R2DBC transaction manager and SQL initialization never compete
+ * with the JPA stack.
+ */
+@Configuration
+public class ReactiveDataConfig implements DisposableBean {
+
+    private static final String H2_JDBC_PREFIX = "jdbc:h2:";
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(DataSourceProperties dataSourceProperties,
+                                                 @Value("${app.reactive.pool.max-size:10}") int maxSize) {
+        String jdbcUrl = dataSourceProperties.determineUrl();
+        if (jdbcUrl == null || !jdbcUrl.startsWith(H2_JDBC_PREFIX)) {
+            throw new IllegalStateException("The reactive read stack requires an H2 datasource, found: " + jdbcUrl);
+        }
+        H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder()
+            .url(jdbcUrl.substring(H2_JDBC_PREFIX.length()))
+            .username(dataSourceProperties.determineUsername())
+            .password(dataSourceProperties.determinePassword())
+            .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+            .builder(new H2ConnectionFactory(configuration))
+            .name("reactive")
+            .maxSize(maxSize)
+            .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
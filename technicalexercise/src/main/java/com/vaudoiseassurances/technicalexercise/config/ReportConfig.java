@@ -0,0 +1,21 @@
+package com.vaudoiseassurances.technicalexercise.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ReportConfig {
+
+    // Each worker holds one connection while it scans its id range, so keep this below the pool size
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService reportExecutor(@Value("${app.reports.parallelism:4}") int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalStateException("app.reports.parallelism must be at least 1, found: " + parallelism);
+        }
+        return Executors.newFixedThreadPool(parallelism, Thread.ofPlatform().name("report-", 0).factory());
+    }
+}
@@ -0,0 +1,47 @@
+package com.vaudoiseassurances.technicalexercise.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements Hibernate prepares while a counter is bound to the current thread; used to
+ * record statements per HTTP request. {@link #propagate(Runnable)} carries the bound counter over to
+ * async tasks, so statements of streaming (NDJSON) responses are counted for their request as well.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> COUNT = new ThreadLocal<>();
+
+    public static void bind(AtomicInteger count) {
+        COUNT.set(count);
+    }
+
+    public static void unbind() {
+        COUNT.remove();
+    }
+
+    public static Runnable propagate(Runnable task) {
+        AtomicInteger count = COUNT.get();
+        if (count == null) {
+            return task;
+        }
+        return () -> {
+            bind(count);
+            try {
+                task.run();
+            } finally {
+                unbind();
+            }
+        };
+    }
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger count = COUNT.get();
+        if (count != null) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,68 @@
+package com.vaudoiseassurances.technicalexercise.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the SQL statements of each HTTP request per route. The counter lives in a request attribute,
+ * so an async request (NDJSON streaming) is recorded once, on the dispatch after its body is written.
+ */
+public class SqlStatementsPerRequestFilter extends OncePerRequestFilter {
+
+    private static final String COUNT_ATTRIBUTE = SqlStatementsPerRequestFilter.class.getName() + ".count";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<RouteKey, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public SqlStatementsPerRequestFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        AtomicInteger statements = (AtomicInteger) request.getAttribute(COUNT_ATTRIBUTE);
+        if (statements == null) {
+            statements = new AtomicInteger();
+            request.setAttribute(COUNT_ATTRIBUTE, statements);
+        }
+        SqlStatementCounter.bind(statements);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.unbind();
+            if (!request.isAsyncStarted()) {
+                Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                summary(request.getMethod(), route != null ? route.toString() : "UNKNOWN").record(statements.get());
+            }
+        }
+    }
+
+    private DistributionSummary summary(String method, String uri) {
+        return summaries.computeIfAbsent(new RouteKey(method, uri), key -> DistributionSummary
+            .builder("app.http.sql.statements")
+            .description("SQL statements prepared by Hibernate per HTTP request")
+            .tag("method", method)
+            .tag("uri", uri)
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry));
+    }
+
+    private record RouteKey(String method, String uri) {}
+}
@@ -0,0 +1,41 @@
+package com.vaudoiseassurances.technicalexercise.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Replaces Boot's JPA transaction manager with one that will not commit a transaction past its timeout.
+ * Statement timeouts leave a gap: a statement started in the last second runs without one (Spring passes
+ * the remaining milliseconds, the JDBC timeout is whole seconds). The contract change feed relies on
+ * writers never committing later than app.contracts.write-timeout-seconds after they began.
+ */
+@Configuration
+public class TransactionConfig {
+
+    @Bean
+    public JpaTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new CommitDeadlineJpaTransactionManager();
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+        return transactionManager;
+    }
+
+    private static class CommitDeadlineJpaTransactionManager extends JpaTransactionManager {
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            EntityManagerHolder holder = (EntityManagerHolder)
+                TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+            if (holder != null && holder.hasTimeout()) {
+                // Throws TransactionTimedOutException once the deadline has passed; the commit then rolls back
+                holder.getTimeToLiveInMillis();
+            }
+            super.doCommit(status);
+        }
+    }
+}
@@ -2,19 +2,37 @@ package com.vaudoiseassurances.technicalexercise.controller;
 
 import com.vaudoiseassurances.technicalexercise.dto.ClientContractDTO;
 import com.vaudoiseassurances.technicalexercise.dto.ClientContractResponseDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientContractsBatchDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ContractBatchResultDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ContractChangeDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ContractCostSumBatchDTO;
 import com.vaudoiseassurances.technicalexercise.dto.ContractCostSumDTO;
+import com.vaudoiseassurances.technicalexercise.dto.CostRevisionDTO;
+import com.vaudoiseassurances.technicalexercise.dto.CostRevisionResultDTO;
+import com.vaudoiseassurances.technicalexercise.dto.PageDTO;
 import com.vaudoiseassurances.technicalexercise.dto.UpdateCostAmountDTO;
 import com.vaudoiseassurances.technicalexercise.model.ClientContract;
 import com.vaudoiseassurances.technicalexercise.services.ClientContractService;
+import com.vaudoiseassurances.technicalexercise.services.ContractBatchService;
+import com.vaudoiseassurances.technicalexercise.services.ContractChangeFeedService;
+import com.vaudoiseassurances.technicalexercise.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/contracts")
@@ -22,6 +40,9 @@ import java.util.List;
 public class ClientContractController {
 
     private final ClientContractService contractService;
+    private final ContractBatchService contractBatchService;
+    private final ContractChangeFeedService changeFeedService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<ClientContract> createContract(
@@ -30,6 +51,12 @@ public class ClientContractController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdContract);
     }
 
+    @PostMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ContractBatchResultDTO> createContractsBatch(InputStream body) throws IOException {
+        return ResponseEntity.ok(contractBatchService.importContracts(body));
+    }
+
     @PatchMapping("/{id}/cost")
     public ResponseEntity<ClientContract> updateContractCostAmount(
             @PathVariable Long id,
@@ -39,21 +66,87 @@ public class ClientContractController {
         return ResponseEntity.ok(updatedContract);
     }
 
+    @PostMapping("/cost-revision")
+    public ResponseEntity<CostRevisionResultDTO> reviseActiveContractCosts(
+            @Valid @RequestBody CostRevisionDTO revisionDTO) {
+        return ResponseEntity.ok(contractService.reviseActiveContractCosts(revisionDTO));
+    }
+
     @GetMapping("/client/{clientId}")
     public ResponseEntity<List<ClientContractResponseDTO>> getActiveContractsByClientId(
             @PathVariable Long clientId,
             @RequestParam(required = false) 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) 
-            LocalDateTime updateDate) {
+            LocalDateTime updateDate,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate asOf,
+            WebRequest webRequest) {
+        Optional<String> etag = contractService.getActiveContractsETag(clientId, updateDate, asOf);
+        if (etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+            return null;
+        }
         List<ClientContractResponseDTO> contracts = contractService
-            .getActiveContractsByClientId(clientId, updateDate);
-        return ResponseEntity.ok(contracts);
+            .getActiveContractsByClientId(clientId, updateDate, asOf);
+        return ResponseEntity.ok().eTag(etag.orElse(null)).body(contracts);
     }
 
     @GetMapping("/client/{clientId}/total-cost")
     public ResponseEntity<ContractCostSumDTO> getTotalActiveCostAmount(
-            @PathVariable Long clientId) {
-        ContractCostSumDTO result = contractService.getTotalActiveCostAmountForClient(clientId);
+            @PathVariable Long clientId,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate asOf) {
+        ContractCostSumDTO result = asOf == null
+            ? contractService.getTotalActiveCostAmountForClient(clientId)
+            : contractService.getTotalActiveCostAmountAsOf(clientId, asOf);
         return ResponseEntity.ok(result);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/clients/active")
+    public ResponseEntity<ClientContractsBatchDTO> getActiveContractsByClientIds(
+            @RequestBody List<Long> clientIds,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime updateDate,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate asOf) {
+        return ResponseEntity.ok(contractService.getActiveContractsByClientIds(clientIds, updateDate, asOf));
+    }
+
+    @PostMapping("/clients/total-cost")
+    public ResponseEntity<ContractCostSumBatchDTO> getTotalActiveCostAmounts(
+            @RequestBody List<Long> clientIds,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate asOf) {
+        return ResponseEntity.ok(contractService.getTotalActiveCostAmounts(clientIds, asOf));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<PageDTO<ContractChangeDTO>> getContractChanges(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime since,
+            @RequestParam(defaultValue = "" + ContractChangeFeedService.DEFAULT_PAGE_LIMIT) int limit) {
+        return ResponseEntity.ok(changeFeedService.getChanges(cursor, since, limit));
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamContractChanges(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime since) {
+        StreamingResponseBody body = out -> {
+            try (NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+                changeFeedService.streamChanges(cursor, since, writer::write);
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+}
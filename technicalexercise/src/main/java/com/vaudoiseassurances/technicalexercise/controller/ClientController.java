@@ -1,16 +1,31 @@
 package com.vaudoiseassurances.technicalexercise.controller;
 
+import com.vaudoiseassurances.technicalexercise.dto.ClientBulkDeleteResultDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientBulkUpsertResultDTO;
 import com.vaudoiseassurances.technicalexercise.dto.ClientDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientResponseDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientSearchCriteria;
 import com.vaudoiseassurances.technicalexercise.dto.ClientUpdateDTO;
+import com.vaudoiseassurances.technicalexercise.dto.PageDTO;
+import com.vaudoiseassurances.technicalexercise.enums.ClientSortField;
+import com.vaudoiseassurances.technicalexercise.enums.ClientType;
+import com.vaudoiseassurances.technicalexercise.exception.ValidationException;
 import com.vaudoiseassurances.technicalexercise.model.Client;
 import com.vaudoiseassurances.technicalexercise.services.ClientService;
+import com.vaudoiseassurances.technicalexercise.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/clients")
@@ -18,15 +33,66 @@ import java.util.List;
 public class ClientController {
 
     private final ClientService clientService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public ResponseEntity<List<Client>> getAllClients() {
-        return ResponseEntity.ok(clientService.getAllClients());
+    public ResponseEntity<PageDTO<ClientResponseDTO>> getAllClients(
+            @RequestParam(required = false) ClientType type,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String companyIdentifier,
+            @RequestParam(defaultValue = "false") boolean deleted,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ClientService.DEFAULT_PAGE_LIMIT) int limit,
+            @RequestParam(defaultValue = "false") boolean includeContracts) {
+        ClientSearchCriteria criteria =
+            searchCriteria(type, name, email, companyIdentifier, deleted, sort, direction);
+        return ResponseEntity.ok(clientService.getClientsPage(criteria, cursor, limit, includeContracts));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllClients(
+            @RequestParam(required = false) ClientType type,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String companyIdentifier,
+            @RequestParam(defaultValue = "false") boolean deleted,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeContracts) {
+        ClientSearchCriteria criteria =
+            searchCriteria(type, name, email, companyIdentifier, deleted, sort, direction);
+        StreamingResponseBody body = out -> {
+            try (NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+                clientService.streamClients(criteria, cursor, includeContracts, writer::write);
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Client> getClientById(@PathVariable Long id) {
-        return ResponseEntity.ok(clientService.getClientById(id));
+    public ResponseEntity<ClientResponseDTO> getClientById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeContracts,
+            WebRequest webRequest) {
+        Optional<String> etag = clientService.getClientETag(id, includeContracts);
+        if (etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+            return null;
+        }
+        ClientResponseDTO client = clientService.getClientResponseById(id, includeContracts);
+        return ResponseEntity.ok().eTag(etag.orElse(null)).body(client);
+    }
+
+    @GetMapping("/by-company/{identifier}")
+    public ResponseEntity<ClientResponseDTO> getClientByCompanyIdentifier(
+            @PathVariable String identifier,
+            @RequestParam(defaultValue = "false") boolean includeContracts) {
+        return ResponseEntity.ok(clientService.getClientResponseByCompanyIdentifier(identifier, includeContracts));
     }
 
     @PostMapping
@@ -42,9 +108,53 @@ public class ClientController {
         return ResponseEntity.ok(clientService.updateClient(id, clientUpdateDTO));
     }
 
+    @PutMapping("/by-company/{identifier}")
+    public ResponseEntity<Client> upsertClientByCompanyIdentifier(
+            @PathVariable String identifier,
+            @Valid @RequestBody ClientDTO clientDTO) {
+        return upserted(clientService.upsertByCompanyIdentifier(identifier, clientDTO));
+    }
+
+    @PutMapping("/by-email/{email}")
+    public ResponseEntity<Client> upsertClientByEmail(
+            @PathVariable String email,
+            @Valid @RequestBody ClientDTO clientDTO) {
+        return upserted(clientService.upsertByEmail(email, clientDTO));
+    }
+
+    @PutMapping
+    public ResponseEntity<ClientBulkUpsertResultDTO> upsertClients(@RequestBody List<@Valid ClientDTO> clientDTOs) {
+        return ResponseEntity.ok(clientService.upsertClients(clientDTOs));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteClient(@PathVariable Long id) {
         clientService.deleteClient(id);
         return ResponseEntity.noContent().build();
     }
+
+    @DeleteMapping
+    public ResponseEntity<ClientBulkDeleteResultDTO> deleteClients(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(clientService.deleteClients(ids));
+    }
+
+    private ResponseEntity<Client> upserted(ClientService.UpsertedClient upserted) {
+        HttpStatus status = upserted.created() ? HttpStatus.CREATED : HttpStatus.OK;
+        return ResponseEntity.status(status).body(upserted.client());
+    }
+
+    private ClientSearchCriteria searchCriteria(ClientType type, String name, String email, String companyIdentifier,
+                                                boolean deleted, String sort, String direction) {
+        boolean descending = switch (direction.toLowerCase(Locale.ROOT)) {
+            case "asc" -> false;
+            case "desc" -> true;
+            default -> throw new ValidationException("Direction must be 'asc' or 'desc'");
+        };
+        return new ClientSearchCriteria(type, blankToNull(name), blankToNull(email), blankToNull(companyIdentifier),
+            deleted, ClientSortField.fromParameter(sort), descending);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
 }
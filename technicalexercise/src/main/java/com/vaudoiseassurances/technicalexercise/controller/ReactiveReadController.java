@@ -0,0 +1,63 @@
+package com.vaudoiseassurances.technicalexercise.controller;
+
+import com.vaudoiseassurances.technicalexercise.dto.ClientContractResponseDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientResponseDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ContractCostSumDTO;
+import com.vaudoiseassurances.technicalexercise.services.ReactiveReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Served by the MVC dispatcher through async request processing; NDJSON responses are written item by item on demand
+@RestController
+@RequestMapping("/api/reactive")
+@RequiredArgsConstructor
+public class ReactiveReadController {
+
+    private final ReactiveReadService readService;
+
+    @GetMapping("/clients/{id}")
+    public Mono<ClientResponseDTO> getClientById(@PathVariable Long id) {
+        return readService.getClientById(id);
+    }
+
+    @GetMapping("/contracts/client/{clientId}")
+    public Mono<List<ClientContractResponseDTO>> getActiveContractsByClientId(
+            @PathVariable Long clientId,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime updateDate,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate asOf) {
+        return readService.getActiveContracts(clientId, updateDate, asOf).collectList();
+    }
+
+    @GetMapping(value = "/contracts/client/{clientId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ClientContractResponseDTO> streamActiveContractsByClientId(
+            @PathVariable Long clientId,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime updateDate,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate asOf) {
+        return readService.getActiveContracts(clientId, updateDate, asOf);
+    }
+
+    @GetMapping("/contracts/client/{clientId}/total-cost")
+    public Mono<ContractCostSumDTO> getTotalActiveCostAmount(
+            @PathVariable Long clientId,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate asOf) {
+        return readService.getTotalActiveCost(clientId, asOf);
+    }
+}
@@ -0,0 +1,26 @@
+package com.vaudoiseassurances.technicalexercise.controller;
+
+import com.vaudoiseassurances.technicalexercise.dto.PortfolioReportDTO;
+import com.vaudoiseassurances.technicalexercise.services.PortfolioReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final PortfolioReportService portfolioReportService;
+
+    @GetMapping("/portfolio")
+    public ResponseEntity<PortfolioReportDTO> getPortfolioReport(
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate asOf) {
+        return ResponseEntity.ok(portfolioReportService.getPortfolioReport(asOf));
+    }
+}
@@ -0,0 +1,7 @@
+package com.vaudoiseassurances.technicalexercise.dto;
+
+public record BatchItemErrorDTO(
+    int index,
+    Long clientId,
+    String message
+) {}
@@ -0,0 +1,11 @@
+package com.vaudoiseassurances.technicalexercise.dto;
+
+import java.util.List;
+
+public record ClientBulkDeleteResultDTO(
+    int requested,
+    int deleted,
+    int contractsClosed,
+    // Unknown ids and ids of clients that were already deleted
+    List<Long> notFoundIds
+) {}
@@ -0,0 +1,8 @@
+package com.vaudoiseassurances.technicalexercise.dto;
+
+public record ClientBulkUpsertResultDTO(
+    int requested,
+    int created,
+    int updated,
+    int unchanged
+) {}
@@ -14,5 +14,6 @@ public record ClientContractDTO(
 
     @NotNull(message = "Cost amount is required")
     @DecimalMin(value = "0.01", message = "Cost must be greater than 0")
+    @Digits(integer = 8, fraction = 2, message = "Cost must have at most 8 integer digits and 2 decimals")
     BigDecimal costAmount
 ) {}
\ No newline at end of file
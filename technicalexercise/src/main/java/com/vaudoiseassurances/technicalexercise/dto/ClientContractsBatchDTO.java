@@ -0,0 +1,9 @@
+package com.vaudoiseassurances.technicalexercise.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record ClientContractsBatchDTO(
+    Map<Long, List<ClientContractResponseDTO>> contractsByClient,
+    List<Long> notFoundIds
+) {}
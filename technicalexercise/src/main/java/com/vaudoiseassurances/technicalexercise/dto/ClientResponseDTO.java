@@ -0,0 +1,30 @@
+package com.vaudoiseassurances.technicalexercise.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.vaudoiseassurances.technicalexercise.enums.ClientType;
+import java.time.LocalDate;
+import java.util.List;
+
+public record ClientResponseDTO(
+    Long id,
+    ClientType clientType,
+    String name,
+    String email,
+    String phone,
+    LocalDate birthdate,
+    String companyIdentifier,
+    boolean deleted,
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    List<ClientContractResponseDTO> contracts
+) {
+    public ClientResponseDTO(Long id, ClientType clientType, String name, String email, String phone,
+                             LocalDate birthdate, String companyIdentifier, boolean deleted) {
+        this(id, clientType, name, email, phone, birthdate, companyIdentifier, deleted, null);
+    }
+
+    public ClientResponseDTO withContracts(List<ClientContractResponseDTO> contracts) {
+        return new ClientResponseDTO(id, clientType, name, email, phone,
+            birthdate, companyIdentifier, deleted, contracts);
+    }
+}
@@ -0,0 +1,19 @@
+package com.vaudoiseassurances.technicalexercise.dto;
+
+import com.vaudoiseassurances.technicalexercise.enums.ClientSortField;
+import com.vaudoiseassurances.technicalexercise.enums.ClientType;
+
+// Null filters are ignored; name is a case-insensitive prefix and email a case-insensitive exact match
+public record ClientSearchCriteria(
+    ClientType clientType,
+    String namePrefix,
+    String email,
+    String companyIdentifier,
+    boolean deleted,
+    ClientSortField sort,
+    boolean descending
+) {
+    public static ClientSearchCriteria all() {
+        return new ClientSearchCriteria(null, null, null, null, false, ClientSortField.ID, false);
+    }
+}
@@ -0,0 +1,22 @@
+package com.vaudoiseassurances.technicalexercise.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Cheap version metadata of a client and its contracts, used to build ETags without loading rows
+public record ClientStateDTO(
+    Long clientId,
+    Long version,
+    Long contractCount,
+    LocalDateTime lastContractUpdate
+) {
+    public String clientTag() {
+        return clientId + "-v" + version;
+    }
+
+    public String contractsTag() {
+        long lastUpdateMicros = lastContractUpdate == null ? 0
+            : lastContractUpdate.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastContractUpdate.getNano() / 1_000;
+        return "c" + contractCount + "-" + Long.toString(lastUpdateMicros, 36);
+    }
+}
@@ -0,0 +1,10 @@
+package com.vaudoiseassurances.technicalexercise.dto;
+
+import java.util.List;
+
+public record ContractBatchResultDTO(
+    int received,
+    int created,
+    int failed,
+    List<BatchItemErrorDTO> errors
+) {}
@@ -0,0 +1,24 @@
+package com.vaudoiseassurances.technicalexercise.dto;
+
+import com.vaudoiseassurances.technicalexercise.util.CursorCodec;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// cursor resumes the change feed right after this change
+public record ContractChangeDTO(
+    Long id,
+    Long clientId,
+    LocalDate startDate,
+    LocalDate endDate,
+    BigDecimal costAmount,
+    LocalDateTime updateDate,
+    String cursor
+) {
+    public ContractChangeDTO(Long id, Long clientId, LocalDate startDate, LocalDate endDate,
+                             BigDecimal costAmount, LocalDateTime updateDate) {
+        this(id, clientId, startDate, endDate, costAmount, updateDate,
+            CursorCodec.encode(updateDate.toString(), String.valueOf(id)));
+    }
+}
@@ -0,0 +1,8 @@
+package com.vaudoiseassurances.technicalexercise.dto;
+
+import java.util.List;
+
+public record ContractCostSumBatchDTO(
+    List<ContractCostSumDTO> totals,
+    List<Long> notFoundIds
+) {}
@@ -0,0 +1,11 @@
+package com.vaudoiseassurances.technicalexercise.dto;
+
+import java.math.BigDecimal;
+
+public record CostAggregateMismatchDTO(
+    Long clientId,
+    BigDecimal storedTotal,
+    BigDecimal liveTotal,
+    long storedCount,
+    long liveCount
+) {}
@@ -0,0 +1,9 @@
+package com.vaudoiseassurances.technicalexercise.dto;
+
+import java.math.BigDecimal;
+
+public record CostGroupDTO(
+    String key,
+    long contracts,
+    BigDecimal totalCost
+) {}
@@ -0,0 +1,19 @@
+package com.vaudoiseassurances.technicalexercise.dto;
+
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+import java.util.List;
+
+public record CostRevisionDTO(
+    @Size(max = 10000, message = "At most 10000 contract ids can be revised at once")
+    List<@NotNull Long> contractIds,
+
+    Long clientId,
+
+    boolean allActive,
+
+    @DecimalMin(value = "-99.99", message = "Percentage must be greater than -100")
+    BigDecimal percentage,
+
+    BigDecimal amount
+) {}
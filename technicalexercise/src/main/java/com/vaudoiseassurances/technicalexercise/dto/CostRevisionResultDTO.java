@@ -0,0 +1,7 @@
+package com.vaudoiseassurances.technicalexercise.dto;
+
+public record CostRevisionResultDTO(
+    int matched,
+    int updated,
+    int skipped
+) {}
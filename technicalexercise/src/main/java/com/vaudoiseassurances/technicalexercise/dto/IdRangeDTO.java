@@ -0,0 +1,6 @@
+package com.vaudoiseassurances.technicalexercise.dto;
+
+public record IdRangeDTO(
+    Long minId,
+    Long maxId
+) {}
@@ -0,0 +1,8 @@
+package com.vaudoiseassurances.technicalexercise.dto;
+
+import java.util.List;
+
+public record PageDTO<T>(
+    List<T> items,
+    String next
+) {}
@@ -0,0 +1,15 @@
+package com.vaudoiseassurances.technicalexercise.dto;
+
+import com.vaudoiseassurances.technicalexercise.enums.ClientType;
+
+import java.math.BigDecimal;
+
+// One GROUP BY row of the portfolio report, before it is rolled up per dimension
+public record PortfolioCellDTO(
+    ClientType clientType,
+    Integer startYear,
+    Integer startMonth,
+    Integer costBucket,
+    Long contracts,
+    BigDecimal totalCost
+) {}
@@ -0,0 +1,15 @@
+package com.vaudoiseassurances.technicalexercise.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Not a point-in-time snapshot: partitions are aggregated in separate transactions
+public record PortfolioReportDTO(
+    LocalDate asOf,
+    long activeContracts,
+    BigDecimal totalActiveCost,
+    List<CostGroupDTO> byClientType,
+    List<CostGroupDTO> byStartMonth,
+    List<CostGroupDTO> byCostBucket
+) {}
@@ -1,11 +1,13 @@
 package com.vaudoiseassurances.technicalexercise.dto;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 
 public record UpdateCostAmountDTO(
     @NotNull(message = "Cost amount is required")
     @DecimalMin(value = "0.01", message = "Cost must be greater than 0")
+    @Digits(integer = 8, fraction = 2, message = "Cost must have at most 8 integer digits and 2 decimals")
     BigDecimal costAmount
 ) {}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.vaudoiseassurances.technicalexercise.enums;
+
+import com.vaudoiseassurances.technicalexercise.exception.ValidationException;
+
+import java.util.Locale;
+
+public enum ClientSortField {
+    ID,
+    NAME,
+    EMAIL;
+
+    public static ClientSortField fromParameter(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ValidationException("Unsupported sort field: " + value);
+        }
+    }
+}
@@ -3,24 +3,39 @@ package com.vaudoiseassurances.technicalexercise.model;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.vaudoiseassurances.technicalexercise.config.HibernateCacheConfig;
 import com.vaudoiseassurances.technicalexercise.enums.ClientType;
 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
 @Entity
-@Table(name="clients")
+@Table(name="clients", indexes = {
+    @Index(name = "idx_clients_name_lower_id", columnList = "name_lower, id"),
+    @Index(name = "ux_clients_email_lower", columnList = "email_lower", unique = true),
+    @Index(name = "ux_clients_company_identifier", columnList = "company_identifier", unique = true),
+    @Index(name = "idx_clients_type_id", columnList = "client_type, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.CLIENT_REGION)
 @Getter
 @Setter 
 @NoArgsConstructor
 @AllArgsConstructor
 public class Client {
     
-     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "client_seq")
+    @SequenceGenerator(name = "client_seq", sequenceName = "clients_seq", allocationSize = 50)
     private Long id;
     
     @Enumerated(EnumType.STRING)
@@ -51,8 +66,34 @@ public class Client {
     private String companyIdentifier;
     
     @OneToMany(mappedBy = "client", cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @JsonIgnore
     private List<ClientContract> contracts = new ArrayList<>();
 
     @Column(nullable = false)
     private boolean deleted = false;
+
+    // Lower-cased copies for case-insensitive, indexable search and sort. Set before every write
+    // rather than generated by the database, so writes stay batched and need no read-back
+    @Column(name = "name_lower", nullable = false)
+    @Setter(AccessLevel.NONE)
+    @JsonIgnore
+    private String nameLower;
+
+    @Column(name = "email_lower", nullable = false)
+    @Setter(AccessLevel.NONE)
+    @JsonIgnore
+    private String emailLower;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonIgnore
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    void lowerCaseSearchColumns() {
+        nameLower = name.toLowerCase(Locale.ROOT);
+        emailLower = email.toLowerCase(Locale.ROOT);
+    }
 }
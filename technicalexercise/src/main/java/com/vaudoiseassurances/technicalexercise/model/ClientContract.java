@@ -4,20 +4,27 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "contracts")
+@Table(name = "contracts", indexes = {
+    @Index(name = "idx_contracts_client_end_date", columnList = "client_id, end_date"),
+    @Index(name = "idx_contracts_client_start_end", columnList = "client_id, start_date, end_date"),
+    @Index(name = "idx_contracts_client_update_date", columnList = "client_id, update_date"),
+    @Index(name = "idx_contracts_update_date_id", columnList = "update_date, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class ClientContract {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contract_seq")
+    @SequenceGenerator(name = "contract_seq", sequenceName = "contracts_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -39,6 +46,12 @@ public class ClientContract {
     @Column(nullable = false)
     @JsonIgnore
     private LocalDateTime updateDate;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonIgnore
+    private Long version;
     
     @PrePersist
     protected void onCreate() {
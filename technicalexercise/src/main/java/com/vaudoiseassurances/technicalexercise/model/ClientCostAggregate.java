@@ -0,0 +1,29 @@
+package com.vaudoiseassurances.technicalexercise.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "client_cost_aggregates")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientCostAggregate {
+    @Id
+    @Column(name = "client_id")
+    private Long clientId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalActiveCost;
+
+    @Column(nullable = false)
+    private long activeContractCount;
+
+    // Date the totals were last evaluated against; contracts ending after it may have expired since
+    @Column(nullable = false)
+    private LocalDate asOfDate;
+}
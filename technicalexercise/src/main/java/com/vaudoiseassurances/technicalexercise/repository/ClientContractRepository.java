@@ -1,42 +1,188 @@
 package com.vaudoiseassurances.technicalexercise.repository;
 
+import com.vaudoiseassurances.technicalexercise.dto.ClientContractResponseDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ContractChangeDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ContractCostSumDTO;
+import com.vaudoiseassurances.technicalexercise.dto.IdRangeDTO;
+import com.vaudoiseassurances.technicalexercise.dto.PortfolioCellDTO;
 import com.vaudoiseassurances.technicalexercise.model.ClientContract;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ClientContractRepository extends JpaRepository<ClientContract, Long> {
+
+    // A contract is active on a date d when d falls in [startDate, endDate)
+    String ACTIVE = "(c.startDate <= :asOf AND (c.endDate IS NULL OR c.endDate > :asOf)) ";
+    String REVISED_COST = "ROUND(c.costAmount * :factor + :offset, 2)";
+    // Keeps revised costs within @DecimalMin(0.01) and the precision = 10, scale = 2 column
+    String REVISED_COST_IN_RANGE = "AND " + REVISED_COST + " BETWEEN 0.01 AND 99999999.99";
+    // Bulk updates bypass the persistence context, so they bump the @Version column themselves
+    String REVISE_COST = "UPDATE ClientContract c SET c.costAmount = " + REVISED_COST + ", " +
+        "c.updateDate = :now, c.version = c.version + 1 ";
+    // Bucket bounds are mirrored by PortfolioReportService.COST_BUCKETS
+    String COST_BUCKET = "CASE WHEN c.costAmount < 1000 THEN 0 WHEN c.costAmount < 5000 THEN 1 " +
+        "WHEN c.costAmount < 10000 THEN 2 WHEN c.costAmount < 25000 THEN 3 ELSE 4 END";
+    // Rooted at Client so one statement answers both lookups: no row means an unknown client,
+    // a single row with a null contract id means the client has no matching contracts
+    String CLIENT_ACTIVE_CONTRACTS = "SELECT new com.vaudoiseassurances.technicalexercise.dto.ClientContractResponseDTO(" +
+        "c.id, cl.id, c.startDate, c.endDate, c.costAmount) FROM Client cl LEFT JOIN cl.contracts c ON " + ACTIVE;
+    // Keyset on (updateDate, id); the leading updateDate >= :since gives a range scan on idx_contracts_update_date_id
+    String CHANGES_AFTER = "SELECT new com.vaudoiseassurances.technicalexercise.dto.ContractChangeDTO(" +
+        "c.id, c.client.id, c.startDate, c.endDate, c.costAmount, c.updateDate) FROM ClientContract c " +
+        "WHERE c.updateDate >= :since AND (c.updateDate > :since OR c.id > :afterId) " +
+        "AND c.updateDate <= :upTo ORDER BY c.updateDate, c.id";
     
-    List<ClientContract> findByClientIdAndEndDateIsNull(Long clientId);
-    
-    @Query("SELECT c FROM ClientContract c WHERE c.client.id = :clientId " +
-           "AND (c.endDate IS NULL OR c.endDate > :currentDate)")
-    List<ClientContract> findActiveContractsByClientId(
+    @Query(CLIENT_ACTIVE_CONTRACTS + "WHERE cl.id = :clientId")
+    List<ClientContractResponseDTO> findActiveContractRowsByClientId(
         @Param("clientId") Long clientId,
-        @Param("currentDate") LocalDate currentDate
+        @Param("asOf") LocalDate asOf
     );
     
-    @Query("SELECT c FROM ClientContract c WHERE c.client.id = :clientId " +
-           "AND (c.endDate IS NULL OR c.endDate > :currentDate) " +
-           "AND c.updateDate >= :updateDate")
-    List<ClientContract> findActiveContractsByClientIdAndUpdateDate(
+    @Query(CLIENT_ACTIVE_CONTRACTS + "AND c.updateDate >= :updateDate WHERE cl.id = :clientId")
+    List<ClientContractResponseDTO> findActiveContractRowsByClientIdAndUpdateDate(
         @Param("clientId") Long clientId,
-        @Param("currentDate") LocalDate currentDate,
+        @Param("asOf") LocalDate asOf,
         @Param("updateDate") LocalDateTime updateDate
     );
     
-    @Query("SELECT COALESCE(SUM(c.costAmount), 0) FROM ClientContract c " +
-           "WHERE c.client.id = :clientId " +
-           "AND (c.endDate IS NULL OR c.endDate > :currentDate)")
-    BigDecimal sumActiveCostAmountByClientId(
+    @Query(CLIENT_ACTIVE_CONTRACTS + "WHERE cl.id IN :clientIds ORDER BY cl.id, c.id")
+    List<ClientContractResponseDTO> findActiveContractRowsByClientIdIn(
+        @Param("clientIds") Collection<Long> clientIds,
+        @Param("asOf") LocalDate asOf
+    );
+
+    @Query(CLIENT_ACTIVE_CONTRACTS + "AND c.updateDate >= :updateDate WHERE cl.id IN :clientIds ORDER BY cl.id, c.id")
+    List<ClientContractResponseDTO> findActiveContractRowsByClientIdInAndUpdateDate(
+        @Param("clientIds") Collection<Long> clientIds,
+        @Param("asOf") LocalDate asOf,
+        @Param("updateDate") LocalDateTime updateDate
+    );
+
+    // Unknown clients have no row; clients without active contracts sum to zero
+    @Query("SELECT new com.vaudoiseassurances.technicalexercise.dto.ContractCostSumDTO(" +
+           "cl.id, COALESCE(SUM(c.costAmount), 0)) FROM Client cl LEFT JOIN cl.contracts c ON " + ACTIVE +
+           "WHERE cl.id IN :clientIds GROUP BY cl.id")
+    List<ContractCostSumDTO> sumActiveCostAmountByClientIdIn(
+        @Param("clientIds") Collection<Long> clientIds,
+        @Param("asOf") LocalDate asOf
+    );
+
+    // Empty for an unknown client, zero for a client without active contracts
+    @Query("SELECT COALESCE(SUM(c.costAmount), 0) FROM Client cl LEFT JOIN cl.contracts c ON " + ACTIVE +
+           "WHERE cl.id = :clientId GROUP BY cl.id")
+    Optional<BigDecimal> sumActiveCostAmountByClientId(
+        @Param("clientId") Long clientId,
+        @Param("asOf") LocalDate asOf
+    );
+
+    @Query("SELECT new com.vaudoiseassurances.technicalexercise.dto.ClientContractResponseDTO(" +
+           "c.id, c.client.id, c.startDate, c.endDate, c.costAmount) " +
+           "FROM ClientContract c WHERE c.client.id IN :clientIds ORDER BY c.client.id, c.id")
+    List<ClientContractResponseDTO> findResponsesByClientIdIn(
+        @Param("clientIds") Collection<Long> clientIds
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ClientContract c SET c.endDate = :today, c.updateDate = :now, c.version = c.version + 1 " +
+           "WHERE c.client.id IN :clientIds AND c.endDate IS NULL")
+    int closeOpenContracts(
+        @Param("clientIds") Collection<Long> clientIds,
+        @Param("today") LocalDate today,
+        @Param("now") LocalDateTime now
+    );
+
+    @Query("SELECT COUNT(c) FROM ClientContract c WHERE c.id IN :contractIds AND " + ACTIVE)
+    int countActiveByIdIn(
+        @Param("contractIds") Collection<Long> contractIds,
+        @Param("asOf") LocalDate asOf
+    );
+
+    @Query("SELECT COUNT(c) FROM ClientContract c WHERE c.client.id = :clientId AND " + ACTIVE)
+    int countActiveByClientId(
         @Param("clientId") Long clientId,
-        @Param("currentDate") LocalDate currentDate
+        @Param("asOf") LocalDate asOf
+    );
+
+    @Query("SELECT COUNT(c) FROM ClientContract c WHERE " + ACTIVE)
+    int countActive(@Param("asOf") LocalDate asOf);
+
+    @Query("SELECT DISTINCT c.client.id FROM ClientContract c WHERE c.id IN :contractIds")
+    List<Long> findClientIdsByContractIdIn(@Param("contractIds") Collection<Long> contractIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(REVISE_COST + "WHERE c.id IN :contractIds AND " + ACTIVE + REVISED_COST_IN_RANGE)
+    int reviseActiveCostByIdIn(
+        @Param("contractIds") Collection<Long> contractIds,
+        @Param("factor") BigDecimal factor,
+        @Param("offset") BigDecimal offset,
+        @Param("asOf") LocalDate asOf,
+        @Param("now") LocalDateTime now
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(REVISE_COST + "WHERE c.client.id = :clientId AND " + ACTIVE + REVISED_COST_IN_RANGE)
+    int reviseActiveCostByClientId(
+        @Param("clientId") Long clientId,
+        @Param("factor") BigDecimal factor,
+        @Param("offset") BigDecimal offset,
+        @Param("asOf") LocalDate asOf,
+        @Param("now") LocalDateTime now
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(REVISE_COST + "WHERE " + ACTIVE + REVISED_COST_IN_RANGE)
+    int reviseActiveCost(
+        @Param("factor") BigDecimal factor,
+        @Param("offset") BigDecimal offset,
+        @Param("asOf") LocalDate asOf,
+        @Param("now") LocalDateTime now
+    );
+
+    @Query(CHANGES_AFTER)
+    List<ContractChangeDTO> findChangesAfter(
+        @Param("since") LocalDateTime since,
+        @Param("afterId") Long afterId,
+        @Param("upTo") LocalDateTime upTo,
+        Limit limit
+    );
+
+    @Query(CHANGES_AFTER)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ContractChangeDTO> streamChangesAfter(
+        @Param("since") LocalDateTime since,
+        @Param("afterId") Long afterId,
+        @Param("upTo") LocalDateTime upTo
+    );
+
+    @Query("SELECT new com.vaudoiseassurances.technicalexercise.dto.IdRangeDTO(MIN(c.id), MAX(c.id)) " +
+           "FROM ClientContract c")
+    IdRangeDTO findIdRange();
+
+    @Query("SELECT new com.vaudoiseassurances.technicalexercise.dto.PortfolioCellDTO(" +
+           "cl.clientType, YEAR(c.startDate), MONTH(c.startDate), " + COST_BUCKET + ", " +
+           "COUNT(c), SUM(c.costAmount)) " +
+           "FROM ClientContract c JOIN c.client cl " +
+           "WHERE c.id BETWEEN :fromId AND :toId AND " + ACTIVE +
+           "GROUP BY cl.clientType, YEAR(c.startDate), MONTH(c.startDate), " + COST_BUCKET)
+    List<PortfolioCellDTO> findPortfolioCells(
+        @Param("fromId") Long fromId,
+        @Param("toId") Long toId,
+        @Param("asOf") LocalDate asOf
     );
-}
\ No newline at end of file
+}
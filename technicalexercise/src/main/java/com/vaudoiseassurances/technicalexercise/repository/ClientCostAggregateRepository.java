@@ -0,0 +1,115 @@
+package com.vaudoiseassurances.technicalexercise.repository;
+
+import com.vaudoiseassurances.technicalexercise.dto.ContractCostSumDTO;
+import com.vaudoiseassurances.technicalexercise.dto.CostAggregateMismatchDTO;
+import com.vaudoiseassurances.technicalexercise.model.ClientCostAggregate;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ClientCostAggregateRepository extends JpaRepository<ClientCostAggregate, Long> {
+
+    String LIVE_TOTAL = "(SELECT COALESCE(SUM(c.costAmount), 0) FROM ClientContract c " +
+                        "WHERE c.client.id = a.clientId AND " + ClientContractRepository.ACTIVE + ")";
+    String LIVE_COUNT = "(SELECT COUNT(c) FROM ClientContract c " +
+                        "WHERE c.client.id = a.clientId AND " + ClientContractRepository.ACTIVE + ")";
+
+    @Query("SELECT a.totalActiveCost FROM ClientCostAggregate a " +
+           "WHERE a.clientId = :clientId AND a.asOfDate = :today")
+    Optional<BigDecimal> findCurrentTotal(
+        @Param("clientId") Long clientId,
+        @Param("today") LocalDate today
+    );
+
+    @Query("SELECT new com.vaudoiseassurances.technicalexercise.dto.ContractCostSumDTO(" +
+           "a.clientId, a.totalActiveCost) FROM ClientCostAggregate a WHERE a.clientId IN :clientIds AND a.asOfDate = :today")
+    List<ContractCostSumDTO> findCurrentTotals(
+        @Param("clientIds") Collection<Long> clientIds,
+        @Param("today") LocalDate today
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ClientCostAggregate a " +
+           "SET a.totalActiveCost = a.totalActiveCost + :costDelta, " +
+           "a.activeContractCount = a.activeContractCount + :countDelta " +
+           "WHERE a.clientId = :clientId AND a.asOfDate = :today")
+    int applyDelta(
+        @Param("clientId") Long clientId,
+        @Param("costDelta") BigDecimal costDelta,
+        @Param("countDelta") long countDelta,
+        @Param("today") LocalDate today
+    );
+
+    // Waits for concurrent applyDelta writers on these aggregates, so totals computed afterwards include their contracts
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a.clientId FROM ClientCostAggregate a WHERE a.clientId IN :clientIds")
+    List<Long> lockByClientIdIn(@Param("clientIds") Collection<Long> clientIds);
+
+    // H2 MERGE ... KEY updates existing aggregates and inserts missing ones in a single statement
+    @Modifying(flushAutomatically = true)
+    @Query(value = "MERGE INTO client_cost_aggregates " +
+           "(client_id, total_active_cost, active_contract_count, as_of_date) KEY (client_id) " +
+           "SELECT cl.id, COALESCE(SUM(c.cost_amount), 0), COUNT(c.id), :today FROM clients cl " +
+           "LEFT JOIN contracts c ON c.client_id = cl.id " +
+           "AND c.start_date <= :today AND (c.end_date IS NULL OR c.end_date > :today) " +
+           "WHERE cl.id IN :clientIds GROUP BY cl.id", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "client_cost_aggregates"))
+    int mergeClients(
+        @Param("clientIds") Collection<Long> clientIds,
+        @Param("today") LocalDate today
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ClientCostAggregate a " +
+           "SET a.totalActiveCost = " + LIVE_TOTAL + ", " +
+           "a.activeContractCount = " + LIVE_COUNT + ", " +
+           "a.asOfDate = :asOf")
+    int refreshAll(@Param("asOf") LocalDate asOf);
+
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO ClientCostAggregate (clientId, totalActiveCost, activeContractCount, asOfDate) " +
+           "SELECT cl.id, COALESCE(SUM(c.costAmount), 0), COUNT(c), :asOf " +
+           "FROM Client cl LEFT JOIN ClientContract c " +
+           "ON c.client = cl AND " + ClientContractRepository.ACTIVE +
+           "GROUP BY cl.id")
+    int insertAll(@Param("asOf") LocalDate asOf);
+
+    @Modifying
+    @Query("DELETE FROM ClientCostAggregate a")
+    int deleteAllInBulk();
+
+    // Clients with a contract that ended or started since the aggregate was computed
+    @Modifying
+    @Query("UPDATE ClientCostAggregate a " +
+           "SET a.totalActiveCost = " + LIVE_TOTAL + ", " +
+           "a.activeContractCount = " + LIVE_COUNT + ", " +
+           "a.asOfDate = :asOf " +
+           "WHERE a.asOfDate < :asOf AND EXISTS (SELECT 1 FROM ClientContract e " +
+           "WHERE e.client.id = a.clientId AND (e.endDate > a.asOfDate AND e.endDate <= :asOf " +
+           "OR e.startDate > a.asOfDate AND e.startDate <= :asOf))")
+    int refreshExpired(@Param("asOf") LocalDate asOf);
+
+    @Modifying
+    @Query("UPDATE ClientCostAggregate a SET a.asOfDate = :today WHERE a.asOfDate < :today")
+    int advanceAsOfDate(@Param("today") LocalDate today);
+
+    @Query("SELECT new com.vaudoiseassurances.technicalexercise.dto.CostAggregateMismatchDTO(" +
+           "a.clientId, a.totalActiveCost, " + LIVE_TOTAL + ", a.activeContractCount, " + LIVE_COUNT + ") " +
+           "FROM ClientCostAggregate a WHERE a.asOfDate = :asOf " +
+           "AND (a.totalActiveCost <> " + LIVE_TOTAL + " OR a.activeContractCount <> " + LIVE_COUNT + ")")
+    List<CostAggregateMismatchDTO> findMismatches(@Param("asOf") LocalDate asOf);
+}
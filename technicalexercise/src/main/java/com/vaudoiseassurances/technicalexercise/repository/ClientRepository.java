@@ -1,10 +1,70 @@
 package com.vaudoiseassurances.technicalexercise.repository;
 
+import com.vaudoiseassurances.technicalexercise.dto.ClientResponseDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientStateDTO;
+import com.vaudoiseassurances.technicalexercise.enums.ClientType;
 import com.vaudoiseassurances.technicalexercise.model.Client;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 @Repository
-public interface ClientRepository extends JpaRepository<Client, Long> {
-    
-}
\ No newline at end of file
+public interface ClientRepository extends JpaRepository<Client, Long>, ClientSearchRepository {
+
+    String CLIENT_RESPONSE_PROJECTION =
+        "SELECT new com.vaudoiseassurances.technicalexercise.dto.ClientResponseDTO(" +
+        "c.id, c.clientType, c.name, c.email, c.phone, c.birthdate, c.companyIdentifier, c.deleted) " +
+        "FROM Client c ";
+
+    // Cached lookups are invalidated by Hibernate whenever the clients table is written through JPA
+    @Query(CLIENT_RESPONSE_PROJECTION + "WHERE c.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<ClientResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query(CLIENT_RESPONSE_PROJECTION + "WHERE c.companyIdentifier = :identifier")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<ClientResponseDTO> findResponseByCompanyIdentifier(@Param("identifier") String identifier);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Client> findByCompanyIdentifier(String companyIdentifier);
+
+    // Callers pass the key lower-cased; email_lower is the unique LOWER(email) set by Client's @PrePersist/@PreUpdate
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Client> findByEmailLower(String emailLower);
+
+    List<Client> findByCompanyIdentifierIn(Collection<String> companyIdentifiers);
+
+    List<Client> findByEmailLowerIn(Collection<String> emailsLower);
+
+    @Query("SELECT c.id FROM Client c WHERE c.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT c.id FROM Client c WHERE c.id IN :ids AND c.deleted = false")
+    Set<Long> findUndeletedIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Client c SET c.deleted = true, c.version = c.version + 1 WHERE c.id IN :ids AND c.deleted = false")
+    int markDeleted(@Param("ids") Collection<Long> ids);
+
+    long countByClientType(ClientType clientType);
+
+    @Query("SELECT c.version FROM Client c WHERE c.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Every contract write stamps updateDate, so count + max(updateDate) changes whenever the contract set does
+    @Query("SELECT new com.vaudoiseassurances.technicalexercise.dto.ClientStateDTO(" +
+           "c.id, c.version, COUNT(ct), MAX(ct.updateDate)) " +
+           "FROM Client c LEFT JOIN c.contracts ct WHERE c.id = :id GROUP BY c.id, c.version")
+    Optional<ClientStateDTO> findStateById(@Param("id") Long id);
+}
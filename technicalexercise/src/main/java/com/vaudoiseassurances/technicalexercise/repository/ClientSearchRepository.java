@@ -0,0 +1,17 @@
+package com.vaudoiseassurances.technicalexercise.repository;
+
+import com.vaudoiseassurances.technicalexercise.dto.ClientResponseDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientSearchCriteria;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ClientSearchRepository {
+
+    // sortKey is the lower-cased sort column (null when sorting by id), needed to build the next cursor
+    record ClientSearchRow(ClientResponseDTO client, String sortKey) {}
+
+    List<ClientSearchRow> search(ClientSearchCriteria criteria, String afterKey, Long afterId, int limit);
+
+    Stream<ClientSearchRow> streamSearch(ClientSearchCriteria criteria, String afterKey, Long afterId);
+}
@@ -0,0 +1,137 @@
+package com.vaudoiseassurances.technicalexercise.repository;
+
+import com.vaudoiseassurances.technicalexercise.dto.ClientResponseDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientSearchCriteria;
+import com.vaudoiseassurances.technicalexercise.enums.ClientSortField;
+import com.vaudoiseassurances.technicalexercise.enums.ClientType;
+import com.vaudoiseassurances.technicalexercise.model.Client;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Criteria-based client search. Case-insensitive filters and sorts go through the name_lower/email_lower
+ * columns, which Client's @PrePersist/@PreUpdate callback sets, so they can use their indexes; pages are
+ * keyset on (sort key, id).
+ */
+public class ClientSearchRepositoryImpl implements ClientSearchRepository {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ClientSearchRow> search(ClientSearchCriteria criteria, String afterKey, Long afterId, int limit) {
+        return query(criteria, afterKey, afterId)
+            .setMaxResults(limit)
+            .getResultList()
+            .stream()
+            .map(this::toRow)
+            .toList();
+    }
+
+    @Override
+    public Stream<ClientSearchRow> streamSearch(ClientSearchCriteria criteria, String afterKey, Long afterId) {
+        return query(criteria, afterKey, afterId)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+            .getResultStream()
+            .map(this::toRow);
+    }
+
+    private TypedQuery<Tuple> query(ClientSearchCriteria criteria, String afterKey, Long afterId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Client> client = query.from(Client.class);
+        Path<Long> id = client.get("id");
+        Path<String> sortKey = sortKey(client, criteria.sort());
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(client.get("deleted"), criteria.deleted()));
+        if (criteria.clientType() != null) {
+            predicates.add(cb.equal(client.get("clientType"), criteria.clientType()));
+        }
+        if (criteria.namePrefix() != null) {
+            predicates.add(cb.like(client.get("nameLower"), likePrefix(criteria.namePrefix()), LIKE_ESCAPE));
+        }
+        if (criteria.email() != null) {
+            predicates.add(cb.equal(client.get("emailLower"), criteria.email().toLowerCase(Locale.ROOT)));
+        }
+        if (criteria.companyIdentifier() != null) {
+            predicates.add(cb.equal(client.get("companyIdentifier"), criteria.companyIdentifier()));
+        }
+        if (afterId != null) {
+            predicates.add(after(cb, sortKey, id, afterKey, afterId, criteria.descending()));
+        }
+
+        query.multiselect(
+                id, client.get("clientType"), client.get("name"), client.get("email"), client.get("phone"),
+                client.get("birthdate"), client.get("companyIdentifier"), client.get("deleted"),
+                sortKey != null ? sortKey : cb.nullLiteral(String.class))
+            .where(predicates.toArray(Predicate[]::new));
+        if (sortKey != null) {
+            query.orderBy(criteria.descending() ? cb.desc(sortKey) : cb.asc(sortKey),
+                criteria.descending() ? cb.desc(id) : cb.asc(id));
+        } else {
+            query.orderBy(criteria.descending() ? cb.desc(id) : cb.asc(id));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private Path<String> sortKey(Root<Client> client, ClientSortField sort) {
+        return switch (sort) {
+            case ID -> null;
+            case NAME -> client.get("nameLower");
+            case EMAIL -> client.get("emailLower");
+        };
+    }
+
+    private Predicate after(CriteriaBuilder cb, Expression<String> sortKey, Expression<Long> id,
+                            String afterKey, Long afterId, boolean descending) {
+        Predicate idAfter = descending ? cb.lessThan(id, afterId) : cb.greaterThan(id, afterId);
+        if (sortKey == null) {
+            return idAfter;
+        }
+        Predicate keyAfter = descending ? cb.lessThan(sortKey, afterKey) : cb.greaterThan(sortKey, afterKey);
+        // The redundant bound lets the (sort key, id) index seek to the page instead of scanning from the start
+        Predicate keyFrom = descending
+            ? cb.lessThanOrEqualTo(sortKey, afterKey)
+            : cb.greaterThanOrEqualTo(sortKey, afterKey);
+        return cb.and(keyFrom, cb.or(keyAfter, cb.and(cb.equal(sortKey, afterKey), idAfter)));
+    }
+
+    private String likePrefix(String prefix) {
+        String escaped = prefix.toLowerCase(Locale.ROOT)
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+        return escaped + "%";
+    }
+
+    private ClientSearchRow toRow(Tuple tuple) {
+        ClientResponseDTO client = new ClientResponseDTO(
+            tuple.get(0, Long.class),
+            tuple.get(1, ClientType.class),
+            tuple.get(2, String.class),
+            tuple.get(3, String.class),
+            tuple.get(4, String.class),
+            tuple.get(5, LocalDate.class),
+            tuple.get(6, String.class),
+            tuple.get(7, Boolean.class));
+        return new ClientSearchRow(client, tuple.get(8, String.class));
+    }
+}
@@ -0,0 +1,99 @@
+package com.vaudoiseassurances.technicalexercise.repository;
+
+import com.vaudoiseassurances.technicalexercise.dto.ClientContractResponseDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientResponseDTO;
+import com.vaudoiseassurances.technicalexercise.enums.ClientType;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Native SQL counterparts of the JPA read queries, executed over R2DBC. Contract reads are rooted at
+ * clients like {@link ClientContractRepository#CLIENT_ACTIVE_CONTRACTS}: no row means an unknown client.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveReadRepository {
+
+    private static final String CLIENT_ACTIVE_CONTRACTS =
+        "SELECT cl.id AS client_id, c.id, c.start_date, c.end_date, c.cost_amount " +
+        "FROM clients cl LEFT JOIN contracts c ON c.client_id = cl.id " +
+        "AND c.start_date <= :asOf AND (c.end_date IS NULL OR c.end_date > :asOf) ";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<ClientResponseDTO> findClientById(Long id) {
+        return databaseClient.sql("SELECT id, client_type, name, email, phone, birthdate, company_identifier, deleted " +
+                "FROM clients WHERE id = :id")
+            .bind("id", id)
+            .map(ReactiveReadRepository::toClient)
+            .one();
+    }
+
+    public Flux<ClientContractResponseDTO> findActiveContractRows(Long clientId, LocalDate asOf) {
+        return databaseClient.sql(CLIENT_ACTIVE_CONTRACTS + "WHERE cl.id = :clientId")
+            .bind("clientId", clientId)
+            .bind("asOf", asOf)
+            .map(ReactiveReadRepository::toContract)
+            .all();
+    }
+
+    public Flux<ClientContractResponseDTO> findActiveContractRows(Long clientId, LocalDate asOf,
+                                                                  LocalDateTime updatedSince) {
+        return databaseClient.sql(CLIENT_ACTIVE_CONTRACTS + "AND c.update_date >= :updateDate WHERE cl.id = :clientId")
+            .bind("clientId", clientId)
+            .bind("asOf", asOf)
+            .bind("updateDate", updatedSince)
+            .map(ReactiveReadRepository::toContract)
+            .all();
+    }
+
+    public Mono<BigDecimal> findCurrentTotal(Long clientId, LocalDate today) {
+        return databaseClient.sql("SELECT total_active_cost FROM client_cost_aggregates " +
+                "WHERE client_id = :clientId AND as_of_date = :today")
+            .bind("clientId", clientId)
+            .bind("today", today)
+            .map(row -> row.get("total_active_cost", BigDecimal.class))
+            .one();
+    }
+
+    // Empty for an unknown client, zero for a client without active contracts
+    public Mono<BigDecimal> sumActiveCostAmount(Long clientId, LocalDate asOf) {
+        return databaseClient.sql("SELECT COALESCE(SUM(c.cost_amount), 0) AS total FROM clients cl " +
+                "LEFT JOIN contracts c ON c.client_id = cl.id " +
+                "AND c.start_date <= :asOf AND (c.end_date IS NULL OR c.end_date > :asOf) " +
+                "WHERE cl.id = :clientId GROUP BY cl.id")
+            .bind("clientId", clientId)
+            .bind("asOf", asOf)
+            .map(row -> row.get("total", BigDecimal.class))
+            .one();
+    }
+
+    private static ClientResponseDTO toClient(Readable row) {
+        return new ClientResponseDTO(
+            row.get("id", Long.class),
+            ClientType.valueOf(row.get("client_type", String.class)),
+            row.get("name", String.class),
+            row.get("email", String.class),
+            row.get("phone", String.class),
+            row.get("birthdate", LocalDate.class),
+            row.get("company_identifier", String.class),
+            row.get("deleted", Boolean.class));
+    }
+
+    private static ClientContractResponseDTO toContract(Readable row) {
+        return new ClientContractResponseDTO(
+            row.get("id", Long.class),
+            row.get("client_id", Long.class),
+            row.get("start_date", LocalDate.class),
+            row.get("end_date", LocalDate.class),
+            row.get("cost_amount", BigDecimal.class));
+    }
+}
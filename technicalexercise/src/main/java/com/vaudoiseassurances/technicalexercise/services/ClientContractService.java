@@ -2,8 +2,13 @@ package com.vaudoiseassurances.technicalexercise.services;
 
 import com.vaudoiseassurances.technicalexercise.dto.ClientContractDTO;
 import com.vaudoiseassurances.technicalexercise.dto.ClientContractResponseDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientContractsBatchDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ContractCostSumBatchDTO;
 import com.vaudoiseassurances.technicalexercise.dto.ContractCostSumDTO;
+import com.vaudoiseassurances.technicalexercise.dto.CostRevisionDTO;
+import com.vaudoiseassurances.technicalexercise.dto.CostRevisionResultDTO;
 import com.vaudoiseassurances.technicalexercise.exception.ResourceNotFoundException;
+import com.vaudoiseassurances.technicalexercise.exception.ValidationException;
 import com.vaudoiseassurances.technicalexercise.model.Client;
 import com.vaudoiseassurances.technicalexercise.model.ClientContract;
 import com.vaudoiseassurances.technicalexercise.repository.ClientContractRepository;
@@ -14,18 +19,33 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+// Writes stamp contract updateDate, so they are bounded by the change feed's write timeout
 @Service
 @RequiredArgsConstructor
-@Transactional
+@Transactional(timeoutString = ContractChangeFeedService.WRITE_TIMEOUT)
 @Slf4j
 public class ClientContractService {
 
+    // Bounds the IN list of the batch reads
+    private static final int MAX_BATCH_CLIENT_IDS = 1000;
+
     private final ClientContractRepository contractRepository;
     private final ClientRepository clientRepository;
+    private final ClientCostAggregateService costAggregateService;
 
     @Transactional(readOnly = true)
     public ClientContract getContractById(Long id) {
@@ -35,7 +55,7 @@ public class ClientContractService {
     }
 
     public ClientContract createContract(ClientContractDTO contractDTO) {
-        log.info("Creating new contract for client id: {}", contractDTO.clientId());
+        log.debug("Creating new contract for client id: {}", contractDTO.clientId());
         
         Client client = clientRepository.findById(contractDTO.clientId())
             .orElseThrow(() -> new ResourceNotFoundException(
@@ -51,70 +71,199 @@ public class ClientContractService {
         contract.setCostAmount(contractDTO.costAmount());
         
         ClientContract savedContract = contractRepository.save(contract);
-        log.info("Contract created with id: {}", savedContract.getId());
+        costAggregateService.recordContractCreated(client.getId(), savedContract);
+        log.info("Contract {} created for client id: {}", savedContract.getId(), client.getId());
         return savedContract;
     }
 
     public ClientContract updateContractCostAmount(Long id, BigDecimal newCostAmount) {
-        log.info("Updating cost amount for contract id: {}", id);
+        log.debug("Updating cost amount for contract id: {}", id);
         
         ClientContract contract = getContractById(id);
+        BigDecimal previousCostAmount = contract.getCostAmount();
         contract.setCostAmount(newCostAmount);
         
         ClientContract updatedContract = contractRepository.save(contract);
+        Long clientId = contract.getClient().getId();
+        costAggregateService.recordCostChanged(clientId, updatedContract, previousCostAmount);
         log.info("Contract cost updated: {} -> {}", id, newCostAmount);
         return updatedContract;
     }
 
+    public CostRevisionResultDTO reviseActiveContractCosts(CostRevisionDTO revision) {
+        validateCostRevision(revision);
+        BigDecimal factor = revision.percentage() != null
+            ? BigDecimal.ONE.add(revision.percentage().divide(BigDecimal.valueOf(100), 6, RoundingMode.HALF_UP))
+            : BigDecimal.ONE;
+        BigDecimal offset = revision.amount() != null ? revision.amount() : BigDecimal.ZERO;
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+
+        int matched;
+        int updated;
+        if (revision.contractIds() != null) {
+            log.info("Revising cost of {} contracts (factor {}, offset {})",
+                revision.contractIds().size(), factor, offset);
+            matched = contractRepository.countActiveByIdIn(revision.contractIds(), today);
+            updated = contractRepository.reviseActiveCostByIdIn(revision.contractIds(), factor, offset, today, now);
+            List<Long> clientIds = contractRepository.findClientIdsByContractIdIn(revision.contractIds());
+            costAggregateService.refresh(clientIds);
+        } else if (revision.clientId() != null) {
+            log.info("Revising cost of contracts of client id: {} (factor {}, offset {})",
+                revision.clientId(), factor, offset);
+            matched = contractRepository.countActiveByClientId(revision.clientId(), today);
+            updated = contractRepository.reviseActiveCostByClientId(revision.clientId(), factor, offset, today, now);
+            costAggregateService.refresh(List.of(revision.clientId()));
+        } else {
+            log.info("Revising cost of all active contracts (factor {}, offset {})", factor, offset);
+            matched = contractRepository.countActive(today);
+            updated = contractRepository.reviseActiveCost(factor, offset, today, now);
+            costAggregateService.refreshAll();
+        }
+
+        log.info("Cost revision applied to {} of {} active contracts", updated, matched);
+        return new CostRevisionResultDTO(matched, updated, matched - updated);
+    }
+
     @Transactional(readOnly = true)
     public List<ClientContractResponseDTO> getActiveContractsByClientId(
             Long clientId, 
-            LocalDateTime updateDateFilter) {
-        log.debug("Fetching active contracts for client id: {}", clientId);
-        
-        clientRepository.findById(clientId)
-            .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + clientId));
+            LocalDateTime updateDateFilter,
+            LocalDate asOf) {
+        LocalDate activeOn = asOf != null ? asOf : LocalDate.now();
+        log.debug("Fetching contracts of client id: {} active on {}", clientId, activeOn);
         
-        LocalDate today = LocalDate.now();
-        List<ClientContract> contracts;
+        List<ClientContractResponseDTO> rows;
         
         if (updateDateFilter != null) {
             log.debug("Applying updateDate filter: {}", updateDateFilter);
-            contracts = contractRepository.findActiveContractsByClientIdAndUpdateDate(
-                clientId, today, updateDateFilter);
+            rows = contractRepository.findActiveContractRowsByClientIdAndUpdateDate(
+                clientId, activeOn, updateDateFilter);
         } else {
-            contracts = contractRepository.findActiveContractsByClientId(clientId, today);
+            rows = contractRepository.findActiveContractRowsByClientId(clientId, activeOn);
+        }
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Client not found with id: " + clientId);
         }
         
-        log.debug("Found {} active contracts", contracts.size());
-        return contracts.stream()
-            .map(this::mapToResponseDTO)
+        List<ClientContractResponseDTO> contracts = rows.stream()
+            .filter(row -> row.id() != null)
             .toList();
+        log.debug("Found {} active contracts", contracts.size());
+        return contracts;
+    }
+
+    @Transactional(readOnly = true)
+    public ClientContractsBatchDTO getActiveContractsByClientIds(
+            List<Long> clientIds,
+            LocalDateTime updateDateFilter,
+            LocalDate asOf) {
+        Set<Long> requestedIds = requestedClientIds(clientIds);
+        LocalDate activeOn = asOf != null ? asOf : LocalDate.now();
+        log.debug("Fetching contracts of {} clients active on {}", requestedIds.size(), activeOn);
+
+        List<ClientContractResponseDTO> rows = updateDateFilter != null
+            ? contractRepository.findActiveContractRowsByClientIdInAndUpdateDate(
+                requestedIds, activeOn, updateDateFilter)
+            : contractRepository.findActiveContractRowsByClientIdIn(requestedIds, activeOn);
+
+        Map<Long, List<ClientContractResponseDTO>> rowsByClient = new HashMap<>();
+        for (ClientContractResponseDTO row : rows) {
+            List<ClientContractResponseDTO> contracts =
+                rowsByClient.computeIfAbsent(row.clientId(), id -> new ArrayList<>());
+            if (row.id() != null) {
+                contracts.add(row);
+            }
+        }
+        Map<Long, List<ClientContractResponseDTO>> contractsByClient = new LinkedHashMap<>();
+        List<Long> notFoundIds = new ArrayList<>();
+        for (Long clientId : requestedIds) {
+            List<ClientContractResponseDTO> contracts = rowsByClient.get(clientId);
+            if (contracts != null) {
+                contractsByClient.put(clientId, contracts);
+            } else {
+                notFoundIds.add(clientId);
+            }
+        }
+        return new ClientContractsBatchDTO(contractsByClient, notFoundIds);
+    }
+
+    // The active subset also depends on the as-of date (today by default), so the tag changes at midnight.
+    // Weak because JSON, CBOR and Smile bodies share it, and Tomcat won't gzip responses with a strong tag
+    @Transactional(readOnly = true)
+    public Optional<String> getActiveContractsETag(Long clientId, LocalDateTime updateDateFilter, LocalDate asOf) {
+        LocalDate activeOn = asOf != null ? asOf : LocalDate.now();
+        return clientRepository.findStateById(clientId)
+            .map(state -> "W/\"" + clientId + "-" + state.contractsTag() + "-" + activeOn
+                + (updateDateFilter != null ? "-" + updateDateFilter : "") + "\"");
     }
 
     @Transactional(readOnly = true)
     public ContractCostSumDTO getTotalActiveCostAmountForClient(Long clientId) {
         log.debug("Calculating total cost for client id: {}", clientId);
         
-        clientRepository.findById(clientId)
+        BigDecimal totalSum = costAggregateService.getTotalActiveCost(clientId)
             .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + clientId));
-        
-        LocalDate today = LocalDate.now();
-        BigDecimal sum = contractRepository.sumActiveCostAmountByClientId(clientId, today);
-        
-        BigDecimal totalSum = sum != null ? sum : BigDecimal.ZERO;
-        log.info("Total active cost for client {}: {}", clientId, totalSum);
+        log.debug("Total active cost for client {}: {}", clientId, totalSum);
         
         return new ContractCostSumDTO(clientId, totalSum);
     }
 
-    private ClientContractResponseDTO mapToResponseDTO(ClientContract contract) {
-        return new ClientContractResponseDTO(
-            contract.getId(),
-            contract.getClient().getId(),
-            contract.getStartDate(),
-            contract.getEndDate(),
-            contract.getCostAmount()
-        );
+    // Only the current total is kept as an aggregate; explicit dates are summed from the contracts
+    @Transactional(readOnly = true)
+    public ContractCostSumDTO getTotalActiveCostAmountAsOf(Long clientId, LocalDate asOf) {
+        log.debug("Calculating total cost for client id: {} as of {}", clientId, asOf);
+        BigDecimal totalSum = contractRepository.sumActiveCostAmountByClientId(clientId, asOf)
+            .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + clientId));
+        return new ContractCostSumDTO(clientId, totalSum);
+    }
+
+    @Transactional(readOnly = true)
+    public ContractCostSumBatchDTO getTotalActiveCostAmounts(List<Long> clientIds, LocalDate asOf) {
+        Set<Long> requestedIds = requestedClientIds(clientIds);
+        log.debug("Calculating total cost for {} clients as of {}", requestedIds.size(), asOf);
+
+        List<ContractCostSumDTO> sums = asOf == null
+            ? costAggregateService.getTotalActiveCosts(requestedIds)
+            : contractRepository.sumActiveCostAmountByClientIdIn(requestedIds, asOf);
+        Map<Long, ContractCostSumDTO> sumsByClient = sums.stream()
+            .collect(Collectors.toMap(ContractCostSumDTO::clientId, Function.identity()));
+
+        List<ContractCostSumDTO> totals = new ArrayList<>(sumsByClient.size());
+        List<Long> notFoundIds = new ArrayList<>();
+        for (Long clientId : requestedIds) {
+            ContractCostSumDTO sum = sumsByClient.get(clientId);
+            if (sum != null) {
+                totals.add(sum);
+            } else {
+                notFoundIds.add(clientId);
+            }
+        }
+        return new ContractCostSumBatchDTO(totals, notFoundIds);
+    }
+
+    private static Set<Long> requestedClientIds(List<Long> clientIds) {
+        if (clientIds == null || clientIds.isEmpty() || clientIds.size() > MAX_BATCH_CLIENT_IDS) {
+            throw new ValidationException("Between 1 and " + MAX_BATCH_CLIENT_IDS + " client ids are required");
+        }
+        if (clientIds.contains(null)) {
+            throw new ValidationException("Client ids must not be null");
+        }
+        return new LinkedHashSet<>(clientIds);
+    }
+
+    private void validateCostRevision(CostRevisionDTO revision) {
+        int selectors = (revision.contractIds() != null ? 1 : 0)
+            + (revision.clientId() != null ? 1 : 0)
+            + (revision.allActive() ? 1 : 0);
+        if (selectors != 1) {
+            throw new ValidationException("Exactly one of contractIds, clientId or allActive must be provided");
+        }
+        if (revision.contractIds() != null && revision.contractIds().isEmpty()) {
+            throw new ValidationException("Contract ids must not be empty");
+        }
+        if ((revision.percentage() == null) == (revision.amount() == null)) {
+            throw new ValidationException("Exactly one of percentage or amount must be provided");
+        }
     }
 }
\ No newline at end of file
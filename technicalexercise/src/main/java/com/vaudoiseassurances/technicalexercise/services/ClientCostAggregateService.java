@@ -0,0 +1,121 @@
+package com.vaudoiseassurances.technicalexercise.services;
+
+import com.vaudoiseassurances.technicalexercise.dto.ContractCostSumDTO;
+import com.vaudoiseassurances.technicalexercise.dto.CostAggregateMismatchDTO;
+import com.vaudoiseassurances.technicalexercise.model.ClientContract;
+import com.vaudoiseassurances.technicalexercise.repository.ClientContractRepository;
+import com.vaudoiseassurances.technicalexercise.repository.ClientCostAggregateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class ClientCostAggregateService {
+
+    private final ClientCostAggregateRepository aggregateRepository;
+    private final ClientContractRepository contractRepository;
+
+    // Reads stay read-only: clients without a current aggregate are summed live, and the aggregate is
+    // created by the next contract write or the daily refresh. Unknown clients have no live total either
+    @Transactional(readOnly = true)
+    public Optional<BigDecimal> getTotalActiveCost(Long clientId) {
+        LocalDate today = LocalDate.now();
+        Optional<BigDecimal> total = aggregateRepository.findCurrentTotal(clientId, today);
+        if (total.isPresent()) {
+            return total;
+        }
+        log.debug("No current cost aggregate for client id: {}, summing live", clientId);
+        return contractRepository.sumActiveCostAmountByClientId(clientId, today);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ContractCostSumDTO> getTotalActiveCosts(Collection<Long> clientIds) {
+        LocalDate today = LocalDate.now();
+        List<ContractCostSumDTO> totals = new ArrayList<>(aggregateRepository.findCurrentTotals(clientIds, today));
+        if (totals.size() < clientIds.size()) {
+            Set<Long> aggregated = totals.stream().map(ContractCostSumDTO::clientId).collect(Collectors.toSet());
+            List<Long> missing = clientIds.stream().filter(id -> !aggregated.contains(id)).toList();
+            totals.addAll(contractRepository.sumActiveCostAmountByClientIdIn(missing, today));
+        }
+        return totals;
+    }
+
+    public void recordContractCreated(Long clientId, ClientContract contract) {
+        LocalDate today = LocalDate.now();
+        if (isActive(contract, today)) {
+            applyDelta(clientId, contract.getCostAmount(), 1, today);
+        }
+    }
+
+    public void recordCostChanged(Long clientId, ClientContract contract, BigDecimal previousCost) {
+        LocalDate today = LocalDate.now();
+        if (isActive(contract, today)) {
+            applyDelta(clientId, contract.getCostAmount().subtract(previousCost), 0, today);
+        }
+    }
+
+    public void refresh(Collection<Long> clientIds) {
+        if (clientIds.isEmpty()) {
+            return;
+        }
+        aggregateRepository.lockByClientIdIn(clientIds);
+        aggregateRepository.mergeClients(clientIds, LocalDate.now());
+    }
+
+    public void refreshAll() {
+        int refreshed = aggregateRepository.refreshAll(LocalDate.now());
+        log.info("Refreshed {} cost aggregates", refreshed);
+    }
+
+    @Scheduled(cron = "${app.aggregates.retire-cron:0 0 0 * * *}")
+    public void retireExpiredContracts() {
+        LocalDate today = LocalDate.now();
+        int refreshed = aggregateRepository.refreshExpired(today);
+        int advanced = aggregateRepository.advanceAsOfDate(today);
+        log.info("Cost aggregates as of {}: {} refreshed for expired contracts, {} carried over",
+            today, refreshed, advanced);
+    }
+
+    public int rebuildAll() {
+        LocalDate today = LocalDate.now();
+        aggregateRepository.deleteAllInBulk();
+        int rebuilt = aggregateRepository.insertAll(today);
+        log.info("Rebuilt {} cost aggregates as of {}", rebuilt, today);
+        return rebuilt;
+    }
+
+    // Checks only the aggregates that reads would serve; older ones are left to the scheduled retirement
+    @Transactional(readOnly = true)
+    public List<CostAggregateMismatchDTO> verify() {
+        List<CostAggregateMismatchDTO> mismatches = aggregateRepository.findMismatches(LocalDate.now());
+        log.info("Cost aggregate verification found {} mismatches", mismatches.size());
+        return mismatches;
+    }
+
+    private void applyDelta(Long clientId, BigDecimal costDelta, long countDelta, LocalDate today) {
+        int updated = aggregateRepository.applyDelta(clientId, costDelta, countDelta, today);
+        if (updated == 0) {
+            // Missing or stale aggregate: recompute it from the contracts, which already include this change
+            refresh(List.of(clientId));
+        }
+    }
+
+    private boolean isActive(ClientContract contract, LocalDate date) {
+        return !contract.getStartDate().isAfter(date)
+            && (contract.getEndDate() == null || contract.getEndDate().isAfter(date));
+    }
+}
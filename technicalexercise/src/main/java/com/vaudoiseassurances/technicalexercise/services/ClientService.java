@@ -1,21 +1,47 @@
 package com.vaudoiseassurances.technicalexercise.services;
 
+import com.vaudoiseassurances.technicalexercise.dto.ClientBulkDeleteResultDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientBulkUpsertResultDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientContractResponseDTO;
 import com.vaudoiseassurances.technicalexercise.dto.ClientDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientResponseDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientSearchCriteria;
 import com.vaudoiseassurances.technicalexercise.dto.ClientUpdateDTO;
+import com.vaudoiseassurances.technicalexercise.dto.PageDTO;
+import com.vaudoiseassurances.technicalexercise.enums.ClientSortField;
 import com.vaudoiseassurances.technicalexercise.enums.ClientType;
+import com.vaudoiseassurances.technicalexercise.exception.ConflictException;
 import com.vaudoiseassurances.technicalexercise.exception.ResourceNotFoundException;
 import com.vaudoiseassurances.technicalexercise.exception.ValidationException;
 import com.vaudoiseassurances.technicalexercise.model.Client;
-import com.vaudoiseassurances.technicalexercise.model.ClientContract;
 import com.vaudoiseassurances.technicalexercise.repository.ClientRepository;
 import com.vaudoiseassurances.technicalexercise.repository.ClientContractRepository;
+import com.vaudoiseassurances.technicalexercise.repository.ClientSearchRepository.ClientSearchRow;
+import com.vaudoiseassurances.technicalexercise.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -23,13 +49,81 @@ import java.util.List;
 @Slf4j
 public class ClientService {
 
+    public static final int DEFAULT_PAGE_LIMIT = 100;
+    private static final int MAX_PAGE_LIMIT = 1000;
+    private static final int STREAM_CONTRACTS_BATCH_SIZE = 500;
+    private static final int BULK_DELETE_CHUNK_SIZE = 1000;
+    private static final int MAX_BULK_UPSERT_SIZE = 1000;
+
     private final ClientRepository clientRepository;
     private final ClientContractRepository contractRepository;
+    private final ClientCostAggregateService costAggregateService;
+
+    @Transactional(readOnly = true)
+    public PageDTO<ClientResponseDTO> getClientsPage(ClientSearchCriteria criteria, String cursor, int limit,
+                                                     boolean includeContracts) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+        SearchPosition after = SearchPosition.decode(cursor, criteria.sort());
+        log.debug("Fetching clients matching {} after {} (limit {})", criteria, after, limit);
+
+        List<ClientSearchRow> rows = clientRepository.search(criteria, after.sortKey(), after.id(), limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<ClientSearchRow> page = hasMore ? rows.subList(0, limit) : rows;
+        String next = hasMore ? SearchPosition.encode(page.getLast()) : null;
+        List<ClientResponseDTO> items = page.stream().map(ClientSearchRow::client).toList();
+        return new PageDTO<>(includeContracts ? withContracts(items) : items, next);
+    }
 
     @Transactional(readOnly = true)
-    public List<Client> getAllClients() {
-        log.debug("Fetching all clients");
-        return clientRepository.findAll();
+    public void streamClients(ClientSearchCriteria criteria, String cursor, boolean includeContracts,
+                              Consumer<ClientResponseDTO> consumer) {
+        SearchPosition after = SearchPosition.decode(cursor, criteria.sort());
+        log.debug("Streaming clients matching {} after {}", criteria, after);
+
+        try (Stream<ClientResponseDTO> clients = clientRepository.streamSearch(criteria, after.sortKey(), after.id())
+                .map(ClientSearchRow::client)) {
+            if (!includeContracts) {
+                clients.forEach(consumer);
+                return;
+            }
+            List<ClientResponseDTO> batch = new ArrayList<>(STREAM_CONTRACTS_BATCH_SIZE);
+            Iterator<ClientResponseDTO> iterator = clients.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == STREAM_CONTRACTS_BATCH_SIZE || !iterator.hasNext()) {
+                    withContracts(batch).forEach(consumer);
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ClientResponseDTO getClientResponseById(Long id, boolean includeContracts) {
+        log.debug("Fetching client view with id: {}", id);
+        ClientResponseDTO client = clientRepository.findResponseById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + id));
+        return includeContracts ? withContracts(List.of(client)).getFirst() : client;
+    }
+
+    @Transactional(readOnly = true)
+    public ClientResponseDTO getClientResponseByCompanyIdentifier(String identifier, boolean includeContracts) {
+        log.debug("Fetching client view with company identifier: {}", identifier);
+        ClientResponseDTO client = clientRepository.findResponseByCompanyIdentifier(identifier)
+            .orElseThrow(() -> new ResourceNotFoundException("Client not found with company identifier: " + identifier));
+        return includeContracts ? withContracts(List.of(client)).getFirst() : client;
+    }
+
+    // Weak, like the contract list tags: one tag covers every media type and the gzipped body
+    @Transactional(readOnly = true)
+    public Optional<String> getClientETag(Long id, boolean includeContracts) {
+        if (!includeContracts) {
+            return clientRepository.findVersionById(id).map(version -> "W/\"" + id + "-v" + version + "\"");
+        }
+        return clientRepository.findStateById(id)
+            .map(state -> "W/\"" + state.clientTag() + "-" + state.contractsTag() + "\"");
     }
 
     @Transactional(readOnly = true)
@@ -40,47 +134,251 @@ public class ClientService {
     }
 
     public Client createClient(ClientDTO clientDTO) {
-        log.info("Creating new client: {}", clientDTO.name());
+        log.debug("Creating new client: {}", clientDTO.name());
     
         validateClientType(clientDTO);
         
         Client client = new Client();
         mapDtoToEntity(clientDTO, client, true);
-        Client savedClient = clientRepository.save(client);
+        Client savedClient = saveNaturalKeys(() -> clientRepository.saveAndFlush(client));
         log.info("Client created with id: {}", savedClient.getId());
         return savedClient;
     }
 
     public Client updateClient(Long id, ClientUpdateDTO clientUpdateDTO) {
-        log.info("Updating client with id: {}", id);
+        log.debug("Updating client with id: {}", id);
         Client client = getClientById(id);
         
         mapUpdateDtoToEntity(clientUpdateDTO, client);
         
-        Client updatedClient = clientRepository.save(client);
+        Client updatedClient = saveNaturalKeys(() -> clientRepository.saveAndFlush(client));
         log.info("Client updated: {}", updatedClient.getId());
         return updatedClient;
     }
 
-    @Transactional
+    public UpsertedClient upsertByCompanyIdentifier(String identifier, ClientDTO clientDTO) {
+        if (clientDTO.clientType() != ClientType.COMPANY || !identifier.equals(clientDTO.companyIdentifier())) {
+            throw new ValidationException("Body must describe the COMPANY client with company identifier: " + identifier);
+        }
+        return upsert(clientDTO, clientRepository.findByCompanyIdentifier(identifier));
+    }
+
+    public UpsertedClient upsertByEmail(String email, ClientDTO clientDTO) {
+        if (clientDTO.clientType() != ClientType.PERSON || !email.equalsIgnoreCase(clientDTO.email())) {
+            throw new ValidationException("Body must describe the PERSON client with email: " + email);
+        }
+        return upsert(clientDTO, clientRepository.findByEmailLower(email.toLowerCase(Locale.ROOT)));
+    }
+
+    public ClientBulkUpsertResultDTO upsertClients(List<ClientDTO> clientDTOs) {
+        if (clientDTOs == null || clientDTOs.isEmpty() || clientDTOs.size() > MAX_BULK_UPSERT_SIZE) {
+            throw new ValidationException("Between 1 and " + MAX_BULK_UPSERT_SIZE + " clients are required");
+        }
+        Set<String> keys = new HashSet<>(clientDTOs.size());
+        for (ClientDTO dto : clientDTOs) {
+            validateClientType(dto);
+            if (!keys.add(naturalKey(dto))) {
+                throw new ValidationException("Duplicate natural key in request: " + naturalKey(dto));
+            }
+        }
+
+        Map<String, Client> existing = findByNaturalKeys(clientDTOs);
+        List<Client> created = new ArrayList<>();
+        int updated = 0;
+        for (ClientDTO dto : clientDTOs) {
+            Client client = existing.get(naturalKey(dto));
+            if (client == null) {
+                client = new Client();
+                mapDtoToEntity(dto, client, true);
+                created.add(client);
+            } else if (applyUpsert(dto, client)) {
+                updated++;
+            }
+        }
+        saveNaturalKeys(() -> clientRepository.saveAllAndFlush(created));
+
+        int unchanged = clientDTOs.size() - created.size() - updated;
+        log.info("Upserted {} clients: {} created, {} updated, {} unchanged",
+            clientDTOs.size(), created.size(), updated, unchanged);
+        return new ClientBulkUpsertResultDTO(clientDTOs.size(), created.size(), updated, unchanged);
+    }
+
+    // Closing the contracts stamps their updateDate, so deletes are bounded by the change feed's write timeout
+    @Transactional(timeoutString = ContractChangeFeedService.WRITE_TIMEOUT)
     public void deleteClient(Long id) {
-        log.info("Soft deleting client with id: {}", id);
+        log.debug("Soft deleting client with id: {}", id);
+        // Flagged on the (usually cached) entity so only its cache entry changes; the bulk
+        // markDeleted used by deleteClients makes Hibernate evict the whole client region
         Client client = getClientById(id);
-        LocalDate today = LocalDate.now();
+        client.setDeleted(true);
 
-        List<ClientContract> activeContracts = contractRepository.findByClientIdAndEndDateIsNull(id);
-        activeContracts.forEach(contract -> {
-            contract.setEndDate(today);
-            log.debug("Setting end date for contract id: {} to {}", contract.getId(), today);
-        });
-        contractRepository.saveAll(activeContracts);
+        int closedContracts = contractRepository.closeOpenContracts(
+            List.of(id), LocalDate.now(), LocalDateTime.now());
+        log.debug("Closed {} open contracts of client id: {}", closedContracts, id);
 
-        client.setDeleted(true);
-        clientRepository.save(client);
+        costAggregateService.refresh(List.of(id));
 
         log.info("Client marked as deleted: {}", id);
     }
 
+    @Transactional(timeoutString = ContractChangeFeedService.WRITE_TIMEOUT)
+    public ClientBulkDeleteResultDTO deleteClients(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new ValidationException("At least one client id is required");
+        }
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        log.info("Soft deleting {} clients", requestedIds.size());
+
+        Set<Long> deletedIds = new HashSet<>(requestedIds.size());
+        int closedContracts = 0;
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        for (List<Long> chunk : partition(new ArrayList<>(requestedIds), BULK_DELETE_CHUNK_SIZE)) {
+            // Already deleted clients are skipped, so their versions (and ETags) stay as they are
+            Set<Long> undeletedIds = clientRepository.findUndeletedIds(chunk);
+            if (undeletedIds.isEmpty()) {
+                continue;
+            }
+            clientRepository.markDeleted(undeletedIds);
+            closedContracts += contractRepository.closeOpenContracts(undeletedIds, today, now);
+            costAggregateService.refresh(undeletedIds);
+            deletedIds.addAll(undeletedIds);
+        }
+
+        List<Long> notFoundIds = requestedIds.stream()
+            .filter(id -> !deletedIds.contains(id))
+            .toList();
+        log.info("Clients marked as deleted: {}, contracts closed: {}, not found or already deleted: {}",
+            deletedIds.size(), closedContracts, notFoundIds.size());
+        return new ClientBulkDeleteResultDTO(requestedIds.size(), deletedIds.size(), closedContracts, notFoundIds);
+    }
+
+
+    private List<ClientResponseDTO> withContracts(List<ClientResponseDTO> clients) {
+        if (clients.isEmpty()) {
+            return clients;
+        }
+        Map<Long, List<ClientContractResponseDTO>> contractsByClient = contractRepository
+            .findResponsesByClientIdIn(clients.stream().map(ClientResponseDTO::id).toList())
+            .stream()
+            .collect(Collectors.groupingBy(ClientContractResponseDTO::clientId));
+        return clients.stream()
+            .map(client -> client.withContracts(contractsByClient.getOrDefault(client.id(), List.of())))
+            .toList();
+    }
+
+    private UpsertedClient upsert(ClientDTO dto, Optional<Client> existing) {
+        if (existing.isEmpty()) {
+            return new UpsertedClient(createClient(dto), true);
+        }
+        Client client = existing.get();
+        if (applyUpsert(dto, client)) {
+            saveNaturalKeys(() -> clientRepository.saveAndFlush(client));
+            log.info("Client updated by natural key: {}", client.getId());
+        }
+        return new UpsertedClient(client, false);
+    }
+
+    // Applies only the mutable fields and reports whether anything changed, so replays don't bump versions
+    private boolean applyUpsert(ClientDTO dto, Client client) {
+        if (client.isDeleted()) {
+            throw new ConflictException("Client with id " + client.getId() + " owning this natural key is deleted");
+        }
+        if (client.getClientType() != dto.clientType()) {
+            throw new ConflictException("Natural key already belongs to " + client.getClientType() + " client with id "
+                + client.getId());
+        }
+        boolean changed = !Objects.equals(client.getName(), dto.name())
+            || !Objects.equals(client.getEmail(), dto.email())
+            || !Objects.equals(client.getPhone(), dto.phone());
+        if (changed) {
+            client.setName(dto.name());
+            client.setEmail(dto.email());
+            client.setPhone(dto.phone());
+        }
+        return changed;
+    }
+
+    // Flushes inside the call so a concurrent writer taking the same email or company identifier surfaces here as 409
+    private <T> T saveNaturalKeys(Supplier<T> save) {
+        try {
+            return save.get();
+        } catch (DataIntegrityViolationException ex) {
+            String constraint = ex.getCause() instanceof ConstraintViolationException violation
+                ? Objects.toString(violation.getConstraintName(), "").toLowerCase(Locale.ROOT)
+                : "";
+            if (constraint.contains("ux_clients_email")) {
+                throw new ConflictException("Email is already used by another client");
+            }
+            if (constraint.contains("ux_clients_company")) {
+                throw new ConflictException("Company identifier is already used by another client");
+            }
+            throw ex;
+        }
+    }
+
+    // Companies are keyed by company identifier, persons by case-insensitive email
+    private static String naturalKey(ClientDTO dto) {
+        return dto.clientType() == ClientType.COMPANY
+            ? "company:" + dto.companyIdentifier()
+            : "email:" + dto.email().toLowerCase(Locale.ROOT);
+    }
+
+    private Map<String, Client> findByNaturalKeys(List<ClientDTO> dtos) {
+        List<String> identifiers = dtos.stream()
+            .filter(dto -> dto.clientType() == ClientType.COMPANY)
+            .map(ClientDTO::companyIdentifier)
+            .toList();
+        List<String> emails = dtos.stream()
+            .filter(dto -> dto.clientType() == ClientType.PERSON)
+            .map(dto -> dto.email().toLowerCase(Locale.ROOT))
+            .toList();
+
+        Map<String, Client> clients = new HashMap<>();
+        if (!identifiers.isEmpty()) {
+            clientRepository.findByCompanyIdentifierIn(identifiers)
+                .forEach(client -> clients.put("company:" + client.getCompanyIdentifier(), client));
+        }
+        if (!emails.isEmpty()) {
+            clientRepository.findByEmailLowerIn(emails)
+                .forEach(client -> clients.put("email:" + client.getEmailLower(), client));
+        }
+        return clients;
+    }
+
+    private static <T> List<List<T>> partition(List<T> items, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += size) {
+            chunks.add(items.subList(from, Math.min(from + size, items.size())));
+        }
+        return chunks;
+    }
+
+    // Id-sorted cursors carry only the id; other sorts carry (id, sort key) so ties on the key stay stable
+    private record SearchPosition(String sortKey, Long id) {
+
+        static SearchPosition decode(String cursor, ClientSortField sort) {
+            if (cursor == null || cursor.isBlank()) {
+                return new SearchPosition(null, null);
+            }
+            if (sort == ClientSortField.ID) {
+                return new SearchPosition(null, CursorCodec.decodeId(cursor));
+            }
+            String[] parts = CursorCodec.decode(cursor, 2);
+            try {
+                return new SearchPosition(parts[1], Long.valueOf(parts[0]));
+            } catch (NumberFormatException ex) {
+                throw new ValidationException("Invalid cursor: " + cursor, ex);
+            }
+        }
+
+        static String encode(ClientSearchRow row) {
+            String id = String.valueOf(row.client().id());
+            return row.sortKey() == null ? CursorCodec.encode(id) : CursorCodec.encode(id, row.sortKey());
+        }
+    }
+
+    public record UpsertedClient(Client client, boolean created) {}
 
     private void validateClientType(ClientDTO dto) {
         if (dto.clientType() == ClientType.PERSON) {
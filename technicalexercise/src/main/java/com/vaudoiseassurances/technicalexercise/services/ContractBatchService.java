@@ -0,0 +1,182 @@
+package com.vaudoiseassurances.technicalexercise.services;
+
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaudoiseassurances.technicalexercise.dto.BatchItemErrorDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientContractDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ContractBatchResultDTO;
+import com.vaudoiseassurances.technicalexercise.model.ClientContract;
+import com.vaudoiseassurances.technicalexercise.repository.ClientContractRepository;
+import com.vaudoiseassurances.technicalexercise.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContractBatchService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ClientRepository clientRepository;
+    private final ClientContractRepository contractRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    private final ClientCostAggregateService costAggregateService;
+
+    @Value("${app.contracts.batch.chunk-size:500}")
+    private int chunkSize;
+
+    // Persisting stamps contract updateDate, so each chunk is bounded by the change feed's write timeout
+    @Value(ContractChangeFeedService.WRITE_TIMEOUT)
+    private int writeTimeoutSeconds;
+
+    public ContractBatchResultDTO importContracts(InputStream body) throws IOException {
+        log.info("Starting contract batch import (chunk size {})", chunkSize);
+        BatchResult result = new BatchResult();
+        List<IndexedContract> chunk = new ArrayList<>(chunkSize);
+
+        try (MappingIterator<ClientContractDTO> items = objectMapper
+                .readerFor(ClientContractDTO.class)
+                .readValues(body)) {
+            while (items.hasNextValue()) {
+                int index = result.received;
+                try {
+                    ClientContractDTO contract = items.nextValue();
+                    result.received++;
+                    chunk.add(new IndexedContract(index, contract));
+                } catch (DatabindException ex) {
+                    result.received++;
+                    result.fail(index, null, "Unreadable contract: " + ex.getOriginalMessage());
+                    continue;
+                }
+                if (chunk.size() == chunkSize) {
+                    persistChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+        } catch (StreamReadException ex) {
+            result.fail(result.received++, null, "Malformed payload, import stopped: " + ex.getOriginalMessage());
+        }
+        persistChunk(chunk, result);
+
+        log.info("Contract batch import finished: {} received, {} created, {} failed",
+            result.received, result.created, result.failed);
+        return result.toDTO();
+    }
+
+    private void persistChunk(List<IndexedContract> chunk, BatchResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<IndexedContract> valid = new ArrayList<>(chunk.size());
+        for (IndexedContract item : chunk) {
+            Set<ConstraintViolation<ClientContractDTO>> violations = validator.validate(item.contract());
+            if (violations.isEmpty()) {
+                valid.add(item);
+            } else {
+                result.fail(item, violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            }
+        }
+
+        Set<Long> clientIds = valid.stream()
+            .map(item -> item.contract().clientId())
+            .collect(Collectors.toSet());
+        Set<Long> existingClientIds = clientIds.isEmpty()
+            ? Set.of()
+            : clientRepository.findExistingIds(clientIds);
+
+        List<IndexedContract> toPersist = new ArrayList<>(valid.size());
+        for (IndexedContract item : valid) {
+            if (existingClientIds.contains(item.contract().clientId())) {
+                toPersist.add(item);
+            } else {
+                result.fail(item, "Client not found with id: " + item.contract().clientId());
+            }
+        }
+        if (toPersist.isEmpty()) {
+            return;
+        }
+
+        List<Long> affectedClientIds = toPersist.stream()
+            .map(item -> item.contract().clientId())
+            .distinct()
+            .toList();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setTimeout(writeTimeoutSeconds);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Flushed through the repository so constraint errors surface as DataAccessException
+                contractRepository.saveAllAndFlush(toPersist.stream().map(this::toEntity).toList());
+                entityManager.clear();
+                costAggregateService.refresh(affectedClientIds);
+            });
+            result.created += toPersist.size();
+            log.debug("Persisted chunk of {} contracts", toPersist.size());
+        } catch (DataAccessException ex) {
+            String cause = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            log.warn("Contract chunk rolled back: {}", cause);
+            toPersist.forEach(item -> result.fail(item, "Chunk rolled back: " + cause));
+        }
+    }
+
+    private ClientContract toEntity(IndexedContract item) {
+        ClientContractDTO dto = item.contract();
+        ClientContract contract = new ClientContract();
+        contract.setClient(clientRepository.getReferenceById(dto.clientId()));
+        contract.setStartDate(dto.startDate() != null ? dto.startDate() : LocalDate.now());
+        contract.setEndDate(dto.endDate());
+        contract.setCostAmount(dto.costAmount());
+        return contract;
+    }
+
+    private record IndexedContract(int index, ClientContractDTO contract) {}
+
+    private static class BatchResult {
+        private int received;
+        private int created;
+        private int failed;
+        private final List<BatchItemErrorDTO> errors = new ArrayList<>();
+
+        void fail(IndexedContract item, String message) {
+            fail(item.index(), item.contract().clientId(), message);
+        }
+
+        void fail(int index, Long clientId, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BatchItemErrorDTO(index, clientId, message));
+            }
+        }
+
+        ContractBatchResultDTO toDTO() {
+            errors.sort(Comparator.comparingInt(BatchItemErrorDTO::index));
+            return new ContractBatchResultDTO(received, created, failed, errors);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.vaudoiseassurances.technicalexercise.services;
+
+import com.vaudoiseassurances.technicalexercise.dto.ContractChangeDTO;
+import com.vaudoiseassurances.technicalexercise.dto.PageDTO;
+import com.vaudoiseassurances.technicalexercise.exception.ValidationException;
+import com.vaudoiseassurances.technicalexercise.repository.ClientContractRepository;
+import com.vaudoiseassurances.technicalexercise.util.CursorCodec;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Global feed of contract changes ordered by (updateDate, id), including contracts closed when their
+ * client is deleted. Changes younger than the safety lag are held back: updateDate is stamped before
+ * commit, so a slower transaction could otherwise commit behind a watermark a consumer already passed.
+ * That only holds while writers commit within the lag, so every transaction that stamps updateDate runs
+ * with {@link #WRITE_TIMEOUT} and the lag must exceed it. A longer writer is rolled back rather than
+ * committing changes the feed has already skipped (see TransactionConfig).
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class ContractChangeFeedService {
+
+    // Timeout (seconds) of the transactions that stamp contract updateDate
+    public static final String WRITE_TIMEOUT = "${app.contracts.write-timeout-seconds:25}";
+    public static final int DEFAULT_PAGE_LIMIT = 500;
+    private static final int MAX_PAGE_LIMIT = 5000;
+    private static final LocalDateTime FEED_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ClientContractRepository contractRepository;
+
+    @Value("${app.contracts.changes.safety-lag:30s}")
+    private Duration safetyLag;
+
+    @Value(WRITE_TIMEOUT)
+    private int writeTimeoutSeconds;
+
+    @PostConstruct
+    void validateSafetyLag() {
+        if (writeTimeoutSeconds < 1) {
+            throw new IllegalStateException(
+                "app.contracts.write-timeout-seconds must be at least 1, found: " + writeTimeoutSeconds);
+        }
+        if (safetyLag.compareTo(Duration.ofSeconds(writeTimeoutSeconds)) <= 0) {
+            throw new IllegalStateException("app.contracts.changes.safety-lag must exceed the "
+                + writeTimeoutSeconds + "s of app.contracts.write-timeout-seconds, found: " + safetyLag);
+        }
+    }
+
+    public PageDTO<ContractChangeDTO> getChanges(String cursor, LocalDateTime since, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+        Watermark from = watermark(cursor, since);
+        log.debug("Fetching contract changes after {} (limit {})", from, limit);
+
+        List<ContractChangeDTO> rows = contractRepository.findChangesAfter(
+            from.updateDate(), from.id(), upperBound(), Limit.of(limit));
+        // Unlike client pages, the next cursor is always returned: it is the watermark for the next sync
+        String next = rows.isEmpty() ? from.encode() : rows.getLast().cursor();
+        return new PageDTO<>(rows, next);
+    }
+
+    public void streamChanges(String cursor, LocalDateTime since, Consumer<ContractChangeDTO> consumer) {
+        Watermark from = watermark(cursor, since);
+        log.debug("Streaming contract changes after {}", from);
+
+        try (Stream<ContractChangeDTO> changes = contractRepository.streamChangesAfter(
+                from.updateDate(), from.id(), upperBound())) {
+            changes.forEach(consumer);
+        }
+    }
+
+    private LocalDateTime upperBound() {
+        return LocalDateTime.now().minus(safetyLag);
+    }
+
+    private Watermark watermark(String cursor, LocalDateTime since) {
+        if (cursor == null || cursor.isBlank()) {
+            return new Watermark(since != null ? since : FEED_START, 0L);
+        }
+        if (since != null) {
+            throw new ValidationException("Use either cursor or since, not both");
+        }
+        String[] parts = CursorCodec.decode(cursor, 2);
+        try {
+            return new Watermark(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw new ValidationException("Invalid cursor: " + cursor, ex);
+        }
+    }
+
+    private record Watermark(LocalDateTime updateDate, Long id) {
+
+        String encode() {
+            return CursorCodec.encode(updateDate.toString(), String.valueOf(id));
+        }
+    }
+}
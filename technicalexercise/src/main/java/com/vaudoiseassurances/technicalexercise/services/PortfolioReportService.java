@@ -0,0 +1,130 @@
+package com.vaudoiseassurances.technicalexercise.services;
+
+import com.vaudoiseassurances.technicalexercise.dto.CostGroupDTO;
+import com.vaudoiseassurances.technicalexercise.dto.IdRangeDTO;
+import com.vaudoiseassurances.technicalexercise.dto.PortfolioCellDTO;
+import com.vaudoiseassurances.technicalexercise.dto.PortfolioReportDTO;
+import com.vaudoiseassurances.technicalexercise.enums.ClientType;
+import com.vaudoiseassurances.technicalexercise.repository.ClientContractRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * Portfolio-wide totals of active contracts by client type, start month and cost bucket. The contract
+ * id range is split into partitions that are aggregated in parallel, each by one GROUP BY query on its
+ * own connection, and the partial results are then rolled up per dimension. Each partition is read in
+ * its own transaction, so contracts written while the report runs may be counted in some partitions only.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PortfolioReportService {
+
+    // Labels of the buckets computed by ClientContractRepository.COST_BUCKET
+    private static final List<String> COST_BUCKETS = List.of(
+        "0-999.99", "1000-4999.99", "5000-9999.99", "10000-24999.99", "25000+");
+
+    private final ClientContractRepository contractRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ExecutorService reportExecutor;
+
+    @Value("${app.reports.partitions:8}")
+    private int partitions;
+
+    @PostConstruct
+    void validatePartitions() {
+        if (partitions < 1) {
+            throw new IllegalStateException("app.reports.partitions must be at least 1, found: " + partitions);
+        }
+    }
+
+    public PortfolioReportDTO getPortfolioReport(LocalDate asOf) {
+        LocalDate activeOn = asOf != null ? asOf : LocalDate.now();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long started = System.nanoTime();
+        IdRangeDTO range = readOnly.execute(status -> contractRepository.findIdRange());
+        List<CompletableFuture<List<PortfolioCellDTO>>> futures = new ArrayList<>();
+        if (range != null && range.minId() != null) {
+            long span = (range.maxId() - range.minId()) / partitions + 1;
+            for (long from = range.minId(); from <= range.maxId(); from += span) {
+                long fromId = from;
+                long toId = Math.min(from + span - 1, range.maxId());
+                futures.add(CompletableFuture.supplyAsync(() -> readOnly.execute(status ->
+                    contractRepository.findPortfolioCells(fromId, toId, activeOn)), reportExecutor));
+            }
+        }
+
+        Totals total = new Totals();
+        Map<ClientType, Totals> byClientType = new TreeMap<>();
+        Map<YearMonth, Totals> byStartMonth = new TreeMap<>();
+        Map<Integer, Totals> byCostBucket = new TreeMap<>();
+        for (CompletableFuture<List<PortfolioCellDTO>> future : futures) {
+            for (PortfolioCellDTO cell : join(future)) {
+                total.add(cell);
+                byClientType.computeIfAbsent(cell.clientType(), key -> new Totals()).add(cell);
+                byStartMonth.computeIfAbsent(YearMonth.of(cell.startYear(), cell.startMonth()),
+                    key -> new Totals()).add(cell);
+                byCostBucket.computeIfAbsent(cell.costBucket(), key -> new Totals()).add(cell);
+            }
+        }
+        log.debug("Portfolio report as of {} computed over {} partitions in {} ms",
+            activeOn, futures.size(), (System.nanoTime() - started) / 1_000_000);
+
+        return new PortfolioReportDTO(
+            activeOn,
+            total.contracts,
+            total.cost,
+            groups(byClientType, ClientType::name),
+            groups(byStartMonth, YearMonth::toString),
+            groups(byCostBucket, COST_BUCKETS::get)
+        );
+    }
+
+    private static <K> List<CostGroupDTO> groups(Map<K, Totals> totals, Function<K, String> label) {
+        return totals.entrySet().stream()
+            .map(entry -> new CostGroupDTO(label.apply(entry.getKey()), entry.getValue().contracts,
+                entry.getValue().cost))
+            .toList();
+    }
+
+    private static List<PortfolioCellDTO> join(CompletableFuture<List<PortfolioCellDTO>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static final class Totals {
+
+        private long contracts;
+        private BigDecimal cost = BigDecimal.ZERO;
+
+        void add(PortfolioCellDTO cell) {
+            contracts += cell.contracts();
+            cost = cost.add(cell.totalCost());
+        }
+    }
+}
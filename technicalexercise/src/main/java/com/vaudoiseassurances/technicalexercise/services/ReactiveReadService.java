@@ -0,0 +1,59 @@
+package com.vaudoiseassurances.technicalexercise.services;
+
+import com.vaudoiseassurances.technicalexercise.dto.ClientContractResponseDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientResponseDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ContractCostSumDTO;
+import com.vaudoiseassurances.technicalexercise.exception.ResourceNotFoundException;
+import com.vaudoiseassurances.technicalexercise.repository.ReactiveReadRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only mirror of the client and contract read paths on R2DBC. Writes, caching and aggregate
+ * maintenance stay with the JPA services; a missing aggregate falls back to the live sum.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveReadService {
+
+    private final ReactiveReadRepository readRepository;
+
+    public Mono<ClientResponseDTO> getClientById(Long id) {
+        return readRepository.findClientById(id)
+            .switchIfEmpty(Mono.error(() -> clientNotFound(id)));
+    }
+
+    public Flux<ClientContractResponseDTO> getActiveContracts(Long clientId, LocalDateTime updateDateFilter,
+                                                              LocalDate asOf) {
+        LocalDate activeOn = asOf != null ? asOf : LocalDate.now();
+        log.debug("Streaming contracts of client id: {} active on {}", clientId, activeOn);
+        Flux<ClientContractResponseDTO> rows = updateDateFilter != null
+            ? readRepository.findActiveContractRows(clientId, activeOn, updateDateFilter)
+            : readRepository.findActiveContractRows(clientId, activeOn);
+        return rows
+            .switchIfEmpty(Mono.error(() -> clientNotFound(clientId)))
+            .filter(row -> row.id() != null);
+    }
+
+    public Mono<ContractCostSumDTO> getTotalActiveCost(Long clientId, LocalDate asOf) {
+        Mono<BigDecimal> total = asOf == null
+            ? readRepository.findCurrentTotal(clientId, LocalDate.now())
+                .switchIfEmpty(Mono.defer(() -> readRepository.sumActiveCostAmount(clientId, LocalDate.now())))
+            : readRepository.sumActiveCostAmount(clientId, asOf);
+        return total
+            .map(sum -> new ContractCostSumDTO(clientId, sum))
+            .switchIfEmpty(Mono.error(() -> clientNotFound(clientId)));
+    }
+
+    private static ResourceNotFoundException clientNotFound(Long clientId) {
+        return new ResourceNotFoundException("Client not found with id: " + clientId);
+    }
+}
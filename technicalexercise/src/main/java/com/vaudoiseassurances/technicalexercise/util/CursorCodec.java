@@ -0,0 +1,48 @@
+package com.vaudoiseassurances.technicalexercise.util;
+
+import com.vaudoiseassurances.technicalexercise.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque URL-safe cursors so clients never depend on their layout.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(String... parts) {
+        String raw = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // The last part is taken verbatim, so it may itself contain the separator (e.g. a client name)
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, expectedParts);
+            if (parts.length != expectedParts) {
+                throw new ValidationException("Invalid cursor: " + cursor);
+            }
+            return parts;
+        } catch (IllegalArgumentException ex) {
+            throw new ValidationException("Invalid cursor: " + cursor, ex);
+        }
+    }
+
+    public static Long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(decode(cursor, 1)[0]);
+        } catch (NumberFormatException ex) {
+            throw new ValidationException("Invalid cursor: " + cursor, ex);
+        }
+    }
+}
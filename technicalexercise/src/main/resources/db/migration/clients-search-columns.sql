@@ -0,0 +1,14 @@
+-- Lower-cased search columns of clients, for databases created before they existed.
+-- Added nullable and backfilled first: a NOT NULL column cannot be added to a table with rows.
+ALTER TABLE clients ADD COLUMN IF NOT EXISTS name_lower VARCHAR(255);
+ALTER TABLE clients ADD COLUMN IF NOT EXISTS email_lower VARCHAR(255);
+
+UPDATE clients SET name_lower = LOWER(name), email_lower = LOWER(email)
+WHERE name_lower IS NULL OR email_lower IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_clients_name_lower_id ON clients (name_lower, id);
+ALTER TABLE clients ADD CONSTRAINT IF NOT EXISTS ux_clients_email_lower UNIQUE (email_lower);
+
+-- Last, so that a run that failed above is retried on the next start
+ALTER TABLE clients ALTER COLUMN name_lower SET NOT NULL;
+ALTER TABLE clients ALTER COLUMN email_lower SET NOT NULL;
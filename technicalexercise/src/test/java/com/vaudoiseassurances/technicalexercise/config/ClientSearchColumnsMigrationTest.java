@@ -0,0 +1,90 @@
+package com.vaudoiseassurances.technicalexercise.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Starts the application on a database with the first release's schema and rows, as ddl-auto=update would find it
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ClientSearchColumnsMigrationTest {
+
+    private static final String URL = "jdbc:h2:mem:baseline-schema;DB_CLOSE_DELAY=-1";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    // Runs before the context, so the schema update finds the baseline tables
+    @DynamicPropertySource
+    static void baselineDatabase(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/baseline-schema.sql"));
+        }
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void existingClientsAreBackfilledAndSearchable() throws Exception {
+        HttpResponse<String> byName = get("/api/clients?name=JEAN");
+        HttpResponse<String> byEmail = get("/api/clients?email=jean.dubois@example.ch");
+
+        assertThat(byName.statusCode()).isEqualTo(200);
+        assertThat(byName.body()).contains("Jean Dubois").doesNotContain("Acme SA");
+        assertThat(byEmail.statusCode()).isEqualTo(200);
+        assertThat(byEmail.body()).contains("Jean Dubois");
+    }
+
+    @Test
+    void clientsCanBeCreated() throws Exception {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(uri("/api/clients"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("""
+                {"clientType":"PERSON","name":"Marie Favre","email":"Marie.Favre@example.ch",
+                 "phone":"+41797654321","birthdate":"1990-02-01"}"""))
+            .build(), HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(201);
+        assertThat(get("/api/clients?email=MARIE.FAVRE@example.ch").body()).contains("Marie Favre");
+    }
+
+    @Test
+    void searchColumnsAreNotNullAndIndexed() {
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'CLIENTS' AND IS_NULLABLE = 'NO'",
+            String.class)).contains("NAME_LOWER", "EMAIL_LOWER");
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'CLIENTS'", String.class))
+            .anySatisfy(name -> assertThat(name).isEqualTo("IDX_CLIENTS_NAME_LOWER_ID"))
+            .anySatisfy(name -> assertThat(name).startsWith("UX_CLIENTS_EMAIL_LOWER"));
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return httpClient.send(HttpRequest.newBuilder(uri(path)).header("Accept", "application/json").build(),
+            HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,130 @@
+package com.vaudoiseassurances.technicalexercise.controller;
+
+import com.vaudoiseassurances.technicalexercise.enums.ClientType;
+import com.vaudoiseassurances.technicalexercise.model.Client;
+import com.vaudoiseassurances.technicalexercise.model.ClientContract;
+import com.vaudoiseassurances.technicalexercise.repository.ClientContractRepository;
+import com.vaudoiseassurances.technicalexercise.repository.ClientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// java.net.http leaves Content-Encoding and the compressed body as sent by the server
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.datasource.url=jdbc:h2:mem:response-encoding;DB_CLOSE_DELAY=-1")
+class ResponseEncodingTest {
+
+    private static final int CONTRACTS = 100;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ClientContractRepository contractRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    // Seeded once: the in-memory database lives as long as the cached application context
+    private static Long clientId;
+
+    @BeforeEach
+    void seedLargeContractList() {
+        if (clientId != null) {
+            return;
+        }
+        Client client = new Client();
+        client.setClientType(ClientType.COMPANY);
+        client.setName("Encoding Test SA");
+        client.setEmail("encoding@example.ch");
+        client.setPhone("+41210000000");
+        client.setCompanyIdentifier("zzz-999");
+        client = clientRepository.save(client);
+
+        List<ClientContract> contracts = new ArrayList<>(CONTRACTS);
+        for (int i = 0; i < CONTRACTS; i++) {
+            ClientContract contract = new ClientContract();
+            contract.setClient(client);
+            contract.setStartDate(LocalDate.of(2024, 1, 1).plusDays(i));
+            contract.setCostAmount(new BigDecimal("1000.00").add(BigDecimal.valueOf(i)));
+            contracts.add(contract);
+        }
+        contractRepository.saveAll(contracts);
+        clientId = client.getId();
+    }
+
+    @Test
+    void largeContractListIsGzippedWithWeakETag() throws Exception {
+        HttpResponse<byte[]> response = get("/api/contracts/client/" + clientId, "application/json", "gzip");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).contains("gzip");
+        assertThat(response.headers().firstValue("ETag")).hasValueSatisfying(tag -> assertThat(tag).startsWith("W/\""));
+    }
+
+    @Test
+    void clientWithContractsIsGzippedWithWeakETag() throws Exception {
+        HttpResponse<byte[]> response = get("/api/clients/" + clientId + "?includeContracts=true",
+            "application/json", "gzip");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).contains("gzip");
+        assertThat(response.headers().firstValue("ETag")).hasValueSatisfying(tag -> assertThat(tag).startsWith("W/\""));
+    }
+
+    @Test
+    void eachMediaTypeGetsItsOwnBodyUnderTheSameWeakETag() throws Exception {
+        String path = "/api/contracts/client/" + clientId;
+        HttpResponse<byte[]> json = get(path, "application/json", "identity");
+        HttpResponse<byte[]> cbor = get(path, "application/cbor", "identity");
+        HttpResponse<byte[]> smile = get(path, "application/x-jackson-smile", "identity");
+
+        assertThat(json.headers().firstValue("Content-Type")).hasValueSatisfying(
+            type -> assertThat(type).startsWith("application/json"));
+        assertThat(cbor.headers().firstValue("Content-Type")).contains("application/cbor");
+        assertThat(smile.headers().firstValue("Content-Type")).contains("application/x-jackson-smile");
+        assertThat(json.body()).isNotEqualTo(cbor.body()).isNotEqualTo(smile.body());
+        assertThat(cbor.body()).isNotEqualTo(smile.body());
+        assertThat(cbor.headers().firstValue("ETag")).isEqualTo(json.headers().firstValue("ETag"));
+        assertThat(smile.headers().firstValue("ETag")).isEqualTo(json.headers().firstValue("ETag"));
+    }
+
+    @Test
+    void weakETagRevalidatesToNotModified() throws Exception {
+        String path = "/api/contracts/client/" + clientId;
+        String etag = get(path, "application/json", "gzip").headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<byte[]> response = httpClient.send(request(path, "application/cbor", "gzip")
+            .header("If-None-Match", etag)
+            .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(304);
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String acceptEncoding)
+            throws IOException, InterruptedException {
+        return httpClient.send(request(path, accept, acceptEncoding).build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpRequest.Builder request(String path, String accept, String acceptEncoding) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header("Accept", accept)
+            .header("Accept-Encoding", acceptEncoding);
+    }
+}
@@ -0,0 +1,22 @@
+package com.vaudoiseassurances.technicalexercise.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Records the SQL Hibernate generates, so index tests can explain the statements the repositories actually run
+public class CapturingStatementInspector implements StatementInspector {
+
+    static final String PROPERTY = "spring.jpa.properties." + AvailableSettings.STATEMENT_INSPECTOR +
+        "=com.vaudoiseassurances.technicalexercise.repository.CapturingStatementInspector";
+
+    static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,78 @@
+package com.vaudoiseassurances.technicalexercise.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Explains the SQL Hibernate generates for the repository methods, with parameters left unbound
+@DataJpaTest(properties = CapturingStatementInspector.PROPERTY)
+class ClientContractIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+    // Index conditions inside the plan comment of one table, in any order
+    private static final String CLIENT_START_DATE_RANGE =
+        "IDX_CONTRACTS_CLIENT_START_END: (?=[^*]*CLIENT_ID = )(?=[^*]*START_DATE <= )";
+
+    @Autowired
+    private ClientContractRepository contractRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void activeContractsLookupRangeScansClientStartDateIndex() {
+        String plan = explain(() -> contractRepository.findActiveContractRowsByClientId(1L, TODAY));
+
+        assertThat(plan).containsPattern(CLIENT_START_DATE_RANGE).doesNotContain("tableScan");
+    }
+
+    @Test
+    void activeContractsSumRangeScansClientStartDateIndex() {
+        String plan = explain(() -> contractRepository.sumActiveCostAmountByClientId(1L, TODAY));
+
+        assertThat(plan).containsPattern(CLIENT_START_DATE_RANGE).doesNotContain("tableScan");
+    }
+
+    // Both composite indexes give a two-column range here; H2 picks by estimated cost
+    @Test
+    void updatedContractsLookupUsesClientRangeIndex() {
+        String plan = explain(() -> contractRepository.findActiveContractRowsByClientIdAndUpdateDate(
+            1L, TODAY, TODAY.atStartOfDay()));
+
+        assertThat(plan).containsPattern("IDX_CONTRACTS_CLIENT_(UPDATE_DATE|START_END): (?=[^*]*CLIENT_ID = )[^*]*AND ")
+            .doesNotContain("tableScan");
+    }
+
+    @Test
+    void closingOpenContractsUsesClientEndDateIndex() {
+        String plan = explain(() -> contractRepository.closeOpenContracts(List.of(1L), TODAY, LocalDateTime.now()));
+
+        assertThat(plan).containsPattern("IDX_CONTRACTS_CLIENT_END_DATE: (?=[^*]*CLIENT_ID = )(?=[^*]*END_DATE IS NULL)")
+            .doesNotContain("tableScan");
+    }
+
+    @Test
+    void changeFeedUsesUpdateDateIdIndex() {
+        LocalDateTime since = TODAY.atStartOfDay();
+        String plan = explain(() -> contractRepository.findChangesAfter(since, 10L, since.plusMonths(1), Limit.of(100)));
+
+        assertThat(plan).containsPattern("IDX_CONTRACTS_UPDATE_DATE_ID: [^*]*UPDATE_DATE >= ").doesNotContain("tableScan");
+    }
+
+    private String explain(Runnable repositoryCall) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        repositoryCall.run();
+        String sql = CapturingStatementInspector.STATEMENTS.getLast();
+        return jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql),
+            (ResultSetExtractor<String>) rs -> rs.next() ? rs.getString(1) : "");
+    }
+}
@@ -0,0 +1,99 @@
+package com.vaudoiseassurances.technicalexercise.repository;
+
+import com.vaudoiseassurances.technicalexercise.dto.ClientSearchCriteria;
+import com.vaudoiseassurances.technicalexercise.enums.ClientSortField;
+import com.vaudoiseassurances.technicalexercise.enums.ClientType;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Explains the SQL of the Criteria search queries. Parameters stay unbound unless the plan depends on their
+// value: H2 derives a range from LIKE 'prefix%' only for a bound pattern
+@DataJpaTest(properties = CapturingStatementInspector.PROPERTY)
+class ClientIndexTest {
+
+    private static final int LIMIT = 50;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void emailLookupIsCaseInsensitiveAndIndexed() {
+        String plan = explainSearch(criteria(null, null, "Jane@Example.ch", null, ClientSortField.ID), null, null);
+
+        assertThat(plan).containsPattern("UX_CLIENTS_EMAIL_LOWER\\w*: EMAIL_LOWER = ").doesNotContain("tableScan");
+    }
+
+    @Test
+    void namePrefixSearchRangeScansNameIndex() {
+        String plan = explainSearch(criteria(null, "Dub", null, null, ClientSortField.NAME), null, null,
+            false, "dub%", LIMIT);
+
+        assertThat(plan).containsPattern("IDX_CLIENTS_NAME_LOWER_ID: NAME_LOWER >= 'dub'\\s+AND NAME_LOWER < 'duc'")
+            .doesNotContain("tableScan");
+    }
+
+    @Test
+    void nameSortedNextPageSeeksNameIndex() {
+        String plan = explainSearch(criteria(null, null, null, null, ClientSortField.NAME), "dubois", 10L);
+
+        assertThat(plan).containsPattern("IDX_CLIENTS_NAME_LOWER_ID: NAME_LOWER >= ").doesNotContain("tableScan");
+    }
+
+    @Test
+    void companyIdentifierLookupIsIndexed() {
+        String plan = explainSearch(criteria(null, null, null, "abc-123", ClientSortField.ID), null, null);
+
+        assertThat(plan).containsPattern("UX_CLIENTS_COMPANY_IDENTIFIER\\w*: COMPANY_IDENTIFIER = ")
+            .doesNotContain("tableScan");
+    }
+
+    @Test
+    void typeFilterKeysetUsesTypeIdIndex() {
+        String plan = explainSearch(criteria(ClientType.PERSON, null, null, null, ClientSortField.ID), null, 10L);
+
+        assertThat(plan).containsPattern("IDX_CLIENTS_TYPE_ID: (?=[^*]*CLIENT_TYPE = )(?=[^*]*ID > )")
+            .doesNotContain("tableScan");
+    }
+
+    @Test
+    void naturalKeysAreUnique() {
+        String indexes = String.valueOf(entityManager.createNativeQuery(
+            "SELECT LISTAGG(INDEX_NAME, ',') WITHIN GROUP (ORDER BY INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES " +
+            "WHERE TABLE_NAME = 'CLIENTS' AND INDEX_TYPE_NAME = 'UNIQUE INDEX'").getSingleResult());
+
+        assertThat(indexes).contains("UX_CLIENTS_COMPANY_IDENTIFIER", "UX_CLIENTS_EMAIL_LOWER");
+    }
+
+    private String explainSearch(ClientSearchCriteria criteria, String afterKey, Long afterId, Object... parameters) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        clientRepository.search(criteria, afterKey, afterId, LIMIT);
+        String sql = CapturingStatementInspector.STATEMENTS.getLast();
+        if (parameters.length > 0) {
+            assertThat(sql.chars().filter(c -> c == '?').count()).isEqualTo(parameters.length);
+        }
+        return jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql),
+            statement -> {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+            },
+            (ResultSetExtractor<String>) rs -> rs.next() ? rs.getString(1) : "");
+    }
+
+    private static ClientSearchCriteria criteria(ClientType type, String namePrefix, String email,
+                                                 String companyIdentifier, ClientSortField sort) {
+        return new ClientSearchCriteria(type, namePrefix, email, companyIdentifier, false, sort, false);
+    }
+}
@@ -0,0 +1,127 @@
+package com.vaudoiseassurances.technicalexercise.services;
+
+import com.vaudoiseassurances.technicalexercise.dto.ClientBulkUpsertResultDTO;
+import com.vaudoiseassurances.technicalexercise.dto.ClientDTO;
+import com.vaudoiseassurances.technicalexercise.enums.ClientType;
+import com.vaudoiseassurances.technicalexercise.exception.ConflictException;
+import com.vaudoiseassurances.technicalexercise.model.Client;
+import com.vaudoiseassurances.technicalexercise.repository.ClientRepository;
+import com.vaudoiseassurances.technicalexercise.services.ClientService.UpsertedClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({ClientService.class, ClientCostAggregateService.class})
+class ClientServiceUpsertTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Test
+    void replayingAnUpsertLeavesTheClientUnchanged() {
+        ClientDTO jane = person("jane.doe@example.ch", "+41790000000");
+
+        UpsertedClient first = clientService.upsertByEmail("Jane.Doe@example.ch", jane);
+        Long version = first.client().getVersion();
+        UpsertedClient replay = clientService.upsertByEmail("jane.doe@example.ch", jane);
+        clientRepository.flush();
+
+        assertThat(first.created()).isTrue();
+        assertThat(replay.created()).isFalse();
+        assertThat(replay.client().getId()).isEqualTo(first.client().getId());
+        assertThat(replay.client().getVersion()).isEqualTo(version);
+        assertThat(clientRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void upsertByCompanyIdentifierUpdatesTheMutableFields() {
+        clientService.upsertByCompanyIdentifier("acm-123", company("acm-123", "info@acme.ch", "+41210000000"));
+
+        UpsertedClient updated = clientService.upsertByCompanyIdentifier("acm-123",
+            company("acm-123", "Contact@Acme.ch", "+41210000000"));
+
+        assertThat(updated.created()).isFalse();
+        assertThat(clientRepository.findByEmailLower("contact@acme.ch"))
+            .map(Client::getCompanyIdentifier)
+            .contains("acm-123");
+    }
+
+    @Test
+    void bulkUpsertCountsCreatedUpdatedAndUnchangedClients() {
+        clientService.upsertClients(List.of(
+            person("jane.doe@example.ch", "+41790000000"),
+            company("acm-123", "info@acme.ch", "+41210000000")));
+
+        ClientBulkUpsertResultDTO result = clientService.upsertClients(List.of(
+            person("JANE.DOE@example.ch", "+41790000000"),
+            company("acm-123", "info@acme.ch", "+41219999999"),
+            person("john.doe@example.ch", "+41791111111")));
+        ClientBulkUpsertResultDTO replay = clientService.upsertClients(List.of(
+            person("JANE.DOE@example.ch", "+41790000000"),
+            company("acm-123", "info@acme.ch", "+41219999999"),
+            person("john.doe@example.ch", "+41791111111")));
+
+        assertThat(result).isEqualTo(new ClientBulkUpsertResultDTO(3, 1, 2, 0));
+        assertThat(replay).isEqualTo(new ClientBulkUpsertResultDTO(3, 0, 0, 3));
+        assertThat(clientRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void upsertOfDeletedClientConflicts() {
+        Client jane = clientService.upsertByEmail("jane.doe@example.ch",
+            person("jane.doe@example.ch", "+41790000000")).client();
+        jane.setDeleted(true);
+        clientRepository.flush();
+
+        assertThatThrownBy(() -> clientService.upsertByEmail("jane.doe@example.ch",
+            person("jane.doe@example.ch", "+41791111111")))
+            .isInstanceOf(ConflictException.class)
+            .hasMessageContaining("is deleted");
+    }
+
+    @Test
+    void upsertOfClientOfAnotherTypeConflicts() {
+        clientService.createClient(company("acm-123", "info@acme.ch", "+41210000000"));
+
+        assertThatThrownBy(() -> clientService.upsertClients(List.of(person("info@acme.ch", "+41790000000"))))
+            .isInstanceOf(ConflictException.class)
+            .hasMessageContaining("COMPANY client");
+    }
+
+    @Test
+    void creatingClientWithTakenEmailConflicts() {
+        clientService.createClient(company("acm-123", "info@acme.ch", "+41210000000"));
+
+        assertThatThrownBy(() -> clientService.createClient(company("bcd-456", "INFO@acme.ch", "+41210000000")))
+            .isInstanceOf(ConflictException.class)
+            .hasMessage("Email is already used by another client");
+    }
+
+    @Test
+    void creatingClientWithTakenCompanyIdentifierConflicts() {
+        clientService.createClient(company("acm-123", "info@acme.ch", "+41210000000"));
+
+        assertThatThrownBy(() -> clientService.createClient(company("acm-123", "sales@acme.ch", "+41210000000")))
+            .isInstanceOf(ConflictException.class)
+            .hasMessage("Company identifier is already used by another client");
+    }
+
+    private static ClientDTO person(String email, String phone) {
+        return new ClientDTO(ClientType.PERSON, "Jane Doe", email, phone, LocalDate.of(1990, 1, 1), null);
+    }
+
+    private static ClientDTO company(String identifier, String email, String phone) {
+        return new ClientDTO(ClientType.COMPANY, "Acme SA", email, phone, null, identifier);
+    }
+}
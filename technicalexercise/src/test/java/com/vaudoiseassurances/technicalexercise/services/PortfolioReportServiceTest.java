@@ -0,0 +1,117 @@
+package com.vaudoiseassurances.technicalexercise.services;
+
+import com.vaudoiseassurances.technicalexercise.config.ReportConfig;
+import com.vaudoiseassurances.technicalexercise.dto.CostGroupDTO;
+import com.vaudoiseassurances.technicalexercise.dto.PortfolioReportDTO;
+import com.vaudoiseassurances.technicalexercise.enums.ClientType;
+import com.vaudoiseassurances.technicalexercise.model.Client;
+import com.vaudoiseassurances.technicalexercise.model.ClientContract;
+import com.vaudoiseassurances.technicalexercise.repository.ClientContractRepository;
+import com.vaudoiseassurances.technicalexercise.repository.ClientRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Partitions run on the report executor in their own transactions, so the data is committed, not rolled back
+@DataJpaTest(properties = {"app.reports.partitions=4", "app.reports.parallelism=2"})
+@Import({PortfolioReportService.class, ReportConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PortfolioReportServiceTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2025, 6, 15);
+
+    @Autowired
+    private PortfolioReportService reportService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ClientContractRepository contractRepository;
+
+    // Six consecutive contract ids over four partitions give three non-empty id ranges
+    @BeforeEach
+    void seedContracts() {
+        Client person = clientRepository.save(client(ClientType.PERSON, "jane.doe@example.ch", null));
+        Client company = clientRepository.save(client(ClientType.COMPANY, "info@acme.ch", "acm-123"));
+        contractRepository.saveAll(List.of(
+            contract(person, LocalDate.of(2025, 1, 10), null, "500.00"),
+            contract(person, LocalDate.of(2025, 1, 20), null, "1500.00"),
+            contract(company, LocalDate.of(2025, 2, 5), null, "12000.00"),
+            contract(company, LocalDate.of(2025, 3, 1), LocalDate.of(2026, 1, 1), "30000.00"),
+            contract(company, LocalDate.of(2024, 1, 1), AS_OF, "7000.00"),
+            contract(person, LocalDate.of(2025, 7, 1), null, "800.00")));
+    }
+
+    @AfterEach
+    void deleteContracts() {
+        contractRepository.deleteAllInBatch();
+        clientRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void rollsUpActiveContractsOfAllPartitionsPerDimension() {
+        PortfolioReportDTO report = reportService.getPortfolioReport(AS_OF);
+
+        assertThat(report.activeContracts()).isEqualTo(4);
+        assertThat(report.totalActiveCost()).isEqualByComparingTo("44000.00");
+        assertThat(report.byClientType()).containsExactly(
+            group("PERSON", 2, "2000.00"),
+            group("COMPANY", 2, "42000.00"));
+        assertThat(report.byStartMonth()).containsExactly(
+            group("2025-01", 2, "2000.00"),
+            group("2025-02", 1, "12000.00"),
+            group("2025-03", 1, "30000.00"));
+        assertThat(report.byCostBucket()).containsExactly(
+            group("0-999.99", 1, "500.00"),
+            group("1000-4999.99", 1, "1500.00"),
+            group("10000-24999.99", 1, "12000.00"),
+            group("25000+", 1, "30000.00"));
+    }
+
+    @Test
+    void emptyPortfolioHasNoGroups() {
+        deleteContracts();
+
+        PortfolioReportDTO report = reportService.getPortfolioReport(AS_OF);
+
+        assertThat(report.activeContracts()).isZero();
+        assertThat(report.totalActiveCost()).isEqualByComparingTo("0");
+        assertThat(report.byClientType()).isEmpty();
+    }
+
+    private static Client client(ClientType type, String email, String companyIdentifier) {
+        Client client = new Client();
+        client.setClientType(type);
+        client.setName(email);
+        client.setEmail(email);
+        client.setPhone("+41790000000");
+        client.setBirthdate(type == ClientType.PERSON ? LocalDate.of(1990, 1, 1) : null);
+        client.setCompanyIdentifier(companyIdentifier);
+        return client;
+    }
+
+    private static ClientContract contract(Client client, LocalDate start, LocalDate end, String cost) {
+        ClientContract contract = new ClientContract();
+        contract.setClient(client);
+        contract.setStartDate(start);
+        contract.setEndDate(end);
+        contract.setCostAmount(new BigDecimal(cost));
+        return contract;
+    }
+
+    private static CostGroupDTO group(String key, long contracts, String totalCost) {
+        return new CostGroupDTO(key, contracts, new BigDecimal(totalCost));
+    }
+}
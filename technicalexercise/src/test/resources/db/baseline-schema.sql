@@ -0,0 +1,29 @@
+-- Schema and rows as left by the first release (IDENTITY ids, no search columns, versions or indexes)
+CREATE TABLE clients (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    birthdate DATE,
+    client_type ENUM('COMPANY', 'PERSON') NOT NULL,
+    company_identifier VARCHAR(255),
+    deleted BOOLEAN NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    phone VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE contracts (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    cost_amount NUMERIC(10, 2) NOT NULL,
+    end_date DATE,
+    start_date DATE NOT NULL,
+    update_date TIMESTAMP(6) NOT NULL,
+    client_id BIGINT NOT NULL,
+    CONSTRAINT fk_contracts_client FOREIGN KEY (client_id) REFERENCES clients (id)
+);
+
+INSERT INTO clients (birthdate, client_type, company_identifier, deleted, email, name, phone) VALUES
+    ('1985-06-15', 'PERSON', NULL, FALSE, 'Jean.Dubois@Example.ch', 'Jean Dubois', '+41791234567'),
+    (NULL, 'COMPANY', 'abc-123', FALSE, 'info@acme.ch', 'Acme SA', '+41211234567');
+
+INSERT INTO contracts (cost_amount, end_date, start_date, update_date, client_id) VALUES
+    (1200.00, NULL, '2024-01-01', '2024-01-01 08:00:00', 1),
+    (800.00, NULL, '2024-03-01', '2024-03-01 08:00:00', 2);